@@ -0,0 +1,59 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.core.AhoCorasickTrie;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在由查询拼接而成的文本中找出所有键的出现：{@link AhoCorasickTrie#scan} 一遍扫描，
+ * 对比在每个偏移处重新调用 {@link CharSuccinctTrie2#prefixKeysOf} 的做法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AhoCorasickBenchmark {
+    private AhoCorasickTrie trie;
+    private String text;
+    private int keyLength;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = new AhoCorasickTrie(CharSuccinctTrie2.sortedOf(state.copyOfKeys()));
+        text = String.join("", state.queries);
+        keyLength = state.keyLength;
+    }
+
+    @Benchmark
+    public int scan() {
+        return trie.scan(text, (start, end, nodeId) -> true);
+    }
+
+    @Benchmark
+    public void prefixKeysOf(Blackhole bh) {
+        CharSuccinctTrie2 trie2 = trie.trie();
+        for (int i = 0; i < text.length(); i++) {
+            // 截取不超过最大键长的片段，避免复制整段文本
+            Iterator<String> prefixes = trie2.prefixKeysOf(text.substring(i, Math.min(text.length(), i + keyLength)));
+            while (prefixes.hasNext()) {
+                bh.consume(prefixes.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public int longestPrefixMatch() {
+        CharSuccinctTrie2 trie2 = trie.trie();
+        int matched = 0;
+        for (int i = 0; i < text.length(); i++) {
+            matched += trie2.longestPrefixMatch(text, i);
+        }
+        return matched;
+    }
+}
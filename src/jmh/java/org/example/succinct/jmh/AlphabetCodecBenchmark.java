@@ -0,0 +1,44 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.KeyCodec;
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.utils.AlphabetCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比字节 Trie 在不同编码下的大小与查询耗时：GB18030、UTF-8 与按键集统计的 {@link AlphabetCodec}
+ * （alphabet 按频率编码，alphabet-ordered 保持字典序）。标签字节数与位图大小在初始化时打印
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlphabetCodecBenchmark {
+    @Param({"GB18030", "UTF-8", "alphabet", "alphabet-ordered"})
+    public String codec;
+
+    private ByteSuccinctTrie2 trie;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        KeyCodec keyCodec = codec.startsWith("alphabet")
+                ? AlphabetCodec.of(state.keys, codec.endsWith("ordered"))
+                : KeyCodec.of(Charset.forName(codec));
+        trie = ByteSuccinctTrie2.of(state.copyOfKeys(), keyCodec);
+        System.out.printf("%n%s, %s%n", keyCodec, trie);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void contains(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.contains(query));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.succinct.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>运行基准并将结果写为 JSON，便于在不同版本之间对比</p>
+ * 用法：{@code java -cp target/benchmarks.jar org.example.succinct.jmh.BenchmarkRunner [JMH 参数]}，
+ * 结果默认写入 {@code jmh-result.json}，可用 {@code -rff} 指定其它路径；
+ * 例如 {@code SuccinctTrieBenchmark -p keyCount=100000 -p chineseRatio=0.5}
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        options.resultFormat(ResultFormatType.JSON);
+        if (cmd.getResult().hasValue()) {
+            options.result(cmd.getResult().get());
+        } else {
+            options.result("jmh-result.json");
+        }
+        // 启用向量化的标签查找，参见 LabelSearch
+        if (!cmd.getJvmArgsAppend().hasValue()) {
+            options.jvmArgsAppend("--add-modules=jdk.incubator.vector");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link ByteSuccinctTrie2} 以字符串查询（每次编码）与直接以 UTF-8 字节查询的耗时
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteKeyBenchmark {
+    private ByteSuccinctTrie2 trie;
+    private byte[][] queryBytes;
+    private ByteBuffer[] directQueries;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = ByteSuccinctTrie2.of(state.copyOfKeys(), StandardCharsets.UTF_8);
+        queryBytes = new byte[KeyState.BATCH][];
+        directQueries = new ByteBuffer[KeyState.BATCH];
+        for (int i = 0; i < KeyState.BATCH; i++) {
+            queryBytes[i] = state.queries[i].getBytes(StandardCharsets.UTF_8);
+            directQueries[i] = ByteBuffer.allocateDirect(queryBytes[i].length).put(queryBytes[i]).flip();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void indexString(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.index(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void indexBytes(Blackhole bh) {
+        for (byte[] query : queryBytes) {
+            bh.consume(trie.index(query, 0, query.length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void indexDirectBuffer(Blackhole bh) {
+        for (ByteBuffer query : directQueries) {
+            bh.consume(trie.index(query));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.core.CachedSuccinctTrie;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zipf 分布的查询流下对比 {@link CachedSuccinctTrie} 与直接查询，缓存容量为 0 表示不加缓存。
+ * 查询从全部键中按 Zipf(s) 抽样，命中率在每轮结束时打印。indexConcurrent 由 4 个线程同时查询，
+ * 检查热点命中在多线程下是否因共享写入而退化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedLookupBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"0", "4096", "65536"})
+    public int capacity;
+
+    @Param({"1.0"})
+    public double skew;
+
+    private SuccinctTrie trie;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        CharSuccinctTrie2 base = CharSuccinctTrie2.sortedOf(state.copyOfKeys());
+        trie = capacity == 0 ? base : new CachedSuccinctTrie(base, capacity);
+        // 逆变换抽样：按排名 r 的权重 1 / r^s 累积
+        int n = state.keys.length;
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int r = 0; r < n; r++) {
+            cdf[r] = sum += 1 / Math.pow(r + 1, skew);
+        }
+        Random random = new Random(42);
+        // 打乱排名与键的对应关系，热点不集中在某个前缀下
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            queries[i] = state.keys[order[rank < 0 ? -rank - 1 : rank]];
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (trie instanceof CachedSuccinctTrie cached) {
+            System.out.printf("%nhit rate: %.3f%n", cached.hitRate());
+            cached.resetStats();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void index(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(trie.index(query));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(QUERIES)
+    public void indexConcurrent(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(trie.index(query));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.succinct.jmh;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.example.succinct.common.SimpleFSA;
+import org.example.succinct.common.SimpleFST;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lucene FST 的对照组：{@link SimpleFSA} 判定存在性，{@link SimpleFST} 取出键的序号
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FstBenchmark {
+    private SimpleFSA fsa;
+    private SimpleFST<Long> fst;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        // FST 要求按 UTF-8 字节序输入
+        BytesRef[] refs = Arrays.stream(state.keys).map(BytesRef::new).sorted().toArray(BytesRef[]::new);
+        fsa = new SimpleFSA(Arrays.stream(refs).map(BytesRef::utf8ToString).toArray(String[]::new));
+        Map<BytesRef, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < refs.length; i++) {
+            map.put(refs[i], (long) i);
+        }
+        fst = new SimpleFST<>(map, PositiveIntOutputs.getSingleton());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void fsaContains(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(fsa.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void fstGet(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(fst.get(query));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.succinct.jmh;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.ByteRunAutomaton;
+import org.apache.lucene.util.automaton.LevenshteinAutomata;
+import org.example.succinct.common.SimpleFSA;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link CharSuccinctTrie2#fuzzySearch} 的 DP 行剪枝与 Lucene FuzzyQuery 的做法：
+ * 构造 Levenshtein 自动机（不含换位，与前者同为普通编辑距离）后与 {@link SimpleFSA} 求交。
+ * Lucene 一侧包含每次查询构造自动机的开销，与 FuzzyQuery 的实际用法一致
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzySearchBenchmark {
+    private static final int QUERIES = 64;
+
+    @Param({"1", "2"})
+    public int maxEdits;
+
+    private CharSuccinctTrie2 trie;
+    private SimpleFSA fsa;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = CharSuccinctTrie2.sortedOf(state.copyOfKeys());
+        // FST 要求按 UTF-8 字节序输入
+        fsa = new SimpleFSA(Arrays.stream(state.keys).map(BytesRef::new).sorted()
+                .map(BytesRef::utf8ToString).toArray(String[]::new));
+        queries = Arrays.copyOf(state.queries, QUERIES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void succinctTrie(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(trie.fuzzySearch(query, maxEdits));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void luceneAutomaton(Blackhole bh) {
+        for (String query : queries) {
+            ByteRunAutomaton automaton = new ByteRunAutomaton(new LevenshteinAutomata(query, false).toAutomaton(maxEdits));
+            bh.consume(fsa.intersect(automaton));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比对有序查询逐个调用 {@link SuccinctTrie#index(String)} 与批量 {@link SuccinctTrie#indexAll(String[])}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexAllBenchmark {
+    /**
+     * 每批查询的数量，越大时相邻查询的公共前缀越长
+     */
+    @Param({"1024", "65536"})
+    public int batch;
+
+    @Param({"CHAR_SUCCINCT_TRIE2"})
+    public TrieImpl implementation;
+
+    private SuccinctTrie trie;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = implementation.build(state.copyOfKeys());
+        // 一半命中：在键与随机串之间交替取样，最后排序
+        String[] misses = StringGenerateUtil.randomArray(batch, 1, state.keyLength, state.chineseRatio);
+        queries = new String[batch];
+        for (int i = 0; i < batch; i++) {
+            queries[i] = (i & 1) == 0 ? state.keys[(int) ((long) i * state.keys.length / batch)] : misses[i];
+        }
+        Arrays.sort(queries);
+    }
+
+    @Benchmark
+    public void loopIndex(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(trie.index(query));
+        }
+    }
+
+    @Benchmark
+    public int[] indexAll() {
+        return trie.indexAll(queries);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.succinct.jmh;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比通配符查询的两种做法：{@link CharSuccinctTrie2#intersect} 沿自动机存活的边下降，
+ * 与有序迭代全部键再逐个运行自动机。prefix 形如 {@code ab*c}，infix 形如 {@code *ab*}（以通配符开头，无法剪去首层）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectBenchmark {
+    private static final int QUERIES = 16;
+
+    @Param({"prefix", "infix"})
+    public String pattern;
+
+    private CharSuccinctTrie2 trie;
+    private Automaton[] automata;
+    private CharacterRunAutomaton[] runAutomata;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = CharSuccinctTrie2.sortedOf(state.copyOfKeys());
+        automata = new Automaton[QUERIES];
+        runAutomata = new CharacterRunAutomaton[QUERIES];
+        for (int i = 0, j = 0; i < QUERIES; j++) {
+            String key = state.keys[j * 7919 % state.keys.length];
+            if (key.length() < 3) {
+                continue;
+            }
+            String wildcard = "prefix".equals(pattern)
+                    ? key.substring(0, 2) + "*" + key.charAt(key.length() - 1)
+                    : "*" + key.substring(0, 2) + "*";
+            automata[i] = Operations.determinize(WildcardQuery.toAutomaton(new Term("f", wildcard),
+                    Operations.DEFAULT_DETERMINIZE_WORK_LIMIT), Operations.DEFAULT_DETERMINIZE_WORK_LIMIT);
+            runAutomata[i] = new CharacterRunAutomaton(automata[i]);
+            i++;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void intersect(Blackhole bh) {
+        for (Automaton automaton : automata) {
+            trie.intersect(automaton).forEachRemaining(bh::consume);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void scan(Blackhole bh) {
+        for (CharacterRunAutomaton automaton : runAutomata) {
+            Iterator<String> keys = trie.iterator(true);
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (automaton.run(key)) {
+                    bh.consume(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.KeyCodec;
+import org.example.succinct.utils.StringEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 键的编解码吞吐（同 {@code Main.encodeTimeTest}，推广到多个字符集）：{@link KeyCodec} 写入复用缓冲区，
+ * 对比原有的 {@link StringEncoder} 与 JDK 的 {@code String.getBytes} / {@code new String}。
+ * threadLocalEncoderEncode 即引入 {@link KeyCodec} 之前字节 Trie 查询时的编码路径（每线程一个 StringEncoder）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyCodecBenchmark {
+    @Param({"UTF-8", "ISO-8859-1", "GB18030"})
+    public String charset;
+
+    private KeyCodec codec;
+    private StringEncoder encoder;
+    private ThreadLocal<StringEncoder> encoders;
+    private Charset cs;
+    private byte[][] encoded;
+    private byte[] bytes;
+    private char[] chars;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        cs = Charset.forName(charset);
+        codec = KeyCodec.of(cs);
+        encoder = new StringEncoder(cs, state.keyLength);
+        encoders = ThreadLocal.withInitial(() -> new StringEncoder(cs, state.keyLength));
+        encoded = new byte[KeyState.BATCH][];
+        for (int i = 0; i < KeyState.BATCH; i++) {
+            encoded[i] = codec.encode(state.queries[i]);
+        }
+        bytes = new byte[codec.maxBytes(state.keyLength)];
+        chars = new char[bytes.length];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void codecEncode(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(codec.encode(query, bytes, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void stringEncoderEncode(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(encoder.encodeToBuffer(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void threadLocalEncoderEncode(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(encoders.get().encodeToBuffer(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void jdkGetBytes(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(query.getBytes(cs));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void codecDecode(Blackhole bh) {
+        for (byte[] key : encoded) {
+            bh.consume(codec.decode(key, 0, key.length, chars, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void jdkNewString(Blackhole bh) {
+        for (byte[] key : encoded) {
+            bh.consume(new String(key, cs));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.utils.StringGenerateUtil;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 各基准共享的数据集：按键数量、最大键长与中文比例生成随机键，以及一批固定的查询
+ */
+@State(Scope.Benchmark)
+public class KeyState {
+    /**
+     * 每次调用执行的查询次数，结果按单次查询折算
+     */
+    public static final int BATCH = 1024;
+
+    @Param({"100000", "1000000"})
+    public int keyCount;
+
+    @Param({"8", "16"})
+    public int keyLength;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public float chineseRatio;
+
+    /**
+     * 已排序且去重的键
+     */
+    public String[] keys;
+
+    /**
+     * 一半取自 {@link #keys}，一半为随机生成（大概率不存在）
+     */
+    public String[] queries;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        keys = Arrays.stream(StringGenerateUtil.randomArray(keyCount, 1, keyLength, chineseRatio))
+                .sorted().distinct().toArray(String[]::new);
+        String[] misses = StringGenerateUtil.randomArray(BATCH, 1, keyLength, chineseRatio);
+        Random random = new Random(42);
+        queries = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            queries[i] = (i & 1) == 0 ? keys[random.nextInt(keys.length)] : misses[i];
+        }
+    }
+
+    /**
+     * 返回键的副本，部分实现会在构建时原地排序
+     */
+    public String[] copyOfKeys() {
+        return keys.clone();
+    }
+}
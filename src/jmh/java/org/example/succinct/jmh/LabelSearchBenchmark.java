@@ -0,0 +1,83 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.utils.LabelSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按扇出对比单个节点内的标签查找方式：逐个比较、二分查找与 {@link LabelSearch}（启用 Vector API），
+ * 用于确定 {@link LabelSearch#SCALAR_LIMIT}。标签取自 CJK 区间，查询一半命中
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LabelSearchBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"4", "8", "16", "32", "64", "256", "4096"})
+    public int fanOut;
+
+    private char[] labels;
+    private char[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        labels = new char[fanOut];
+        int size = 0;
+        while (size < fanOut) {
+            char c = (char) (0x4E00 + random.nextInt(0x5000));
+            if (Arrays.binarySearch(labels, 0, size, c) < 0) {
+                labels[size++] = c;
+                Arrays.sort(labels, 0, size);
+            }
+        }
+        queries = new char[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = (i & 1) == 0 ? labels[random.nextInt(fanOut)] : (char) (0x4E00 + random.nextInt(0x5000));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int linear() {
+        int sum = 0;
+        for (char c : queries) {
+            int index = -1;
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    index = i;
+                    break;
+                }
+            }
+            sum += index;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int binary() {
+        int sum = 0;
+        for (char c : queries) {
+            sum += Arrays.binarySearch(labels, 0, labels.length, c);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int labelSearch() {
+        int sum = 0;
+        for (char c : queries) {
+            sum += LabelSearch.indexOf(labels, 0, labels.length, c);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.RankSelectBitSet;
+import org.example.succinct.common.Range;
+import org.example.succinct.common.RankSelectBitSet4;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 LOUDS 位图生成（同 {@code Main.createLoudsBits}）在旧版 {@code List<Long>} 构建器与
+ * 基于 long[] 的追加式构建器上的耗时，仅度量位图写入，不包含 rank/select 索引的构建
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoudsBuildBenchmark {
+    @Param({"100000", "1000000"})
+    public int keyCount;
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        keys = StringGenerateUtil.randomArray(keyCount, 0, 8, 0.5f);
+        Arrays.sort(keys);
+    }
+
+    @Benchmark
+    public long[] legacyBuilder() {
+        LegacyBuilder builder = new LegacyBuilder();
+        int[] bitPos = {0};
+        createLoudsBits(keys, () -> builder.set(bitPos[0]++, false), () -> builder.set(bitPos[0]++, true));
+        return builder.build();
+    }
+
+    @Benchmark
+    public RankSelectBitSet appendBuilder() {
+        RankSelectBitSet.Builder builder = new RankSelectBitSet4.Builder();
+        createLoudsBits(keys, () -> builder.append(false), builder::appendOne);
+        return builder.build(false);
+    }
+
+    static void createLoudsBits(String[] keys, Runnable zero, Runnable one) {
+        Queue<Range> queue = new ArrayDeque<>();
+        queue.add(new Range(0, keys.length, 0));
+        while (!queue.isEmpty()) {
+            Range range = queue.poll();
+            int L = range.L(), R = range.R(), index = range.index();
+            int start = L;
+            while (start < R) {
+                if (keys[start].length() <= index) {
+                    start++;
+                    continue;
+                }
+                char currentChar = keys[start].charAt(index);
+                int end = start + 1;
+                while (end < R && keys[end].length() > index && keys[end].charAt(index) == currentChar) {
+                    end++;
+                }
+                zero.run();
+                queue.add(new Range(start, end, index + 1));
+                start = end;
+            }
+            one.run();
+        }
+    }
+
+    /**
+     * 改造前的构建器：每个字都以 Long 装箱存放，扩容时逐个追加 0L
+     */
+    static class LegacyBuilder {
+        private final List<Long> bits = new ArrayList<>();
+        private int size = 0;
+
+        void set(int position, boolean value) {
+            ensureCapacity(position);
+            int block = position >> 6;
+            long mask = 1L << position;
+            long oldBlock = bits.get(block);
+            bits.set(block, value ? oldBlock | mask : oldBlock & ~mask);
+        }
+
+        private void ensureCapacity(int position) {
+            int requiredBlocks = (position >> 6) + 1;
+            while (bits.size() < requiredBlocks) {
+                bits.add(0L);
+            }
+            size = Math.max(size, position + 1);
+        }
+
+        long[] build() {
+            long[] array = new long[bits.size()];
+            for (int i = 0; i < bits.size(); i++) {
+                array[i] = bits.get(i);
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.RamUsageUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比原始标签与 {@link CharSuccinctTrie2#withPackedLabels} 分块压缩标签的查询与迭代耗时，
+ * 标签与整棵 Trie 占用的内存在初始化时打印
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedLabelsBenchmark {
+    @Param({"false", "true"})
+    public boolean packed;
+
+    private CharSuccinctTrie2 trie;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = CharSuccinctTrie2.sortedOf(state.copyOfKeys());
+        if (packed) {
+            trie = trie.withPackedLabels();
+        }
+        System.out.printf("%n%s, labels: %,d bytes, total: %s%n", trie, trie.labelBytes(), RamUsageUtil.sizeOf(trie));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void contains(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void keyAt(Blackhole bh) {
+        int step = Math.max(1, trie.size() / KeyState.BATCH);
+        for (int i = 0; i < KeyState.BATCH; i++) {
+            bh.consume(trie.keyAt(i * step % trie.size()));
+        }
+    }
+}
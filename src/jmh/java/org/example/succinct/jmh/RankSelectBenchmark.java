@@ -0,0 +1,130 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.RankSelectBitSet;
+import org.example.succinct.archive.RankSelectBitSet1;
+import org.example.succinct.archive.RankSelectBitSet2;
+import org.example.succinct.archive.RankSelectBitSet3;
+import org.example.succinct.common.MappedRankSelectBitSet;
+import org.example.succinct.common.RankSelectBitSet4;
+import org.example.succinct.common.RankSelectBitSet5;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 在由 {@link KeyState#keys} 生成的 LOUDS 位图上比较各 {@link RankSelectBitSet} 实现
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankSelectBenchmark {
+    public enum Impl {
+        RANK_SELECT_BIT_SET1(RankSelectBitSet1.Builder::new),
+        RANK_SELECT_BIT_SET2(RankSelectBitSet2.Builder::new),
+        RANK_SELECT_BIT_SET3(RankSelectBitSet3.Builder::new),
+        RANK_SELECT_BIT_SET4(RankSelectBitSet4.Builder::new),
+        RANK_SELECT_BIT_SET5(RankSelectBitSet5.Builder::new),
+        MAPPED_RANK_SELECT_BIT_SET(RankSelectBitSet4.Builder::new);
+
+        private final Supplier<RankSelectBitSet.Builder> builder;
+
+        Impl(Supplier<RankSelectBitSet.Builder> builder) {
+            this.builder = builder;
+        }
+    }
+
+    @Param
+    public Impl implementation;
+
+    private RankSelectBitSet bitSet;
+    private int[] positions;
+    private int[] ones;
+    private int[] zeros;
+    private int[] nodes;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        RankSelectBitSet.Builder builder = implementation.builder.get();
+        LoudsBuildBenchmark.createLoudsBits(state.keys, () -> builder.append(false), builder::appendOne);
+        bitSet = builder.build(true);
+        if (implementation == Impl.MAPPED_RANK_SELECT_BIT_SET) {
+            bitSet = MappedRankSelectBitSet.of(MappedRankSelectBitSet.words(bitSet), bitSet.size());
+        }
+        Random random = new Random(42);
+        int size = bitSet.size(), oneCount = bitSet.oneCount();
+        positions = random.ints(KeyState.BATCH, 0, size).toArray();
+        ones = random.ints(KeyState.BATCH, 1, oneCount + 1).toArray();
+        zeros = random.ints(KeyState.BATCH, 1, size - oneCount + 1).toArray();
+        nodes = random.ints(KeyState.BATCH, 0, oneCount).toArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void get(Blackhole bh) {
+        for (int pos : positions) {
+            bh.consume(bitSet.get(pos));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void rank1(Blackhole bh) {
+        for (int pos : positions) {
+            bh.consume(bitSet.rank1(pos));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void select1(Blackhole bh) {
+        for (int k : ones) {
+            bh.consume(bitSet.select1(k));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void select0(Blackhole bh) {
+        for (int k : zeros) {
+            bh.consume(bitSet.select0(k));
+        }
+    }
+
+    /**
+     * 与 Trie 查询相同的访问模式：由相邻两次 select1 定位子节点区间，随机转移到其中一个子节点，直到没有子节点
+     */
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void descend(Blackhole bh) {
+        for (int seed : nodes) {
+            int nodeId = 0, bitmapIndex = 0, end, depth = 0;
+            while ((end = bitSet.select1(nodeId + 1)) > bitmapIndex) {
+                int index = bitmapIndex + (seed >>> depth++) % (end - bitmapIndex);
+                nodeId = index + 1 - nodeId;
+                bitmapIndex = bitSet.select1(nodeId) + 1;
+            }
+            bh.consume(nodeId);
+        }
+    }
+
+    /**
+     * 与反向查询相同的访问模式：由 select0 逐层回溯到根节点
+     */
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void ascend(Blackhole bh) {
+        for (int nodeId : nodes) {
+            int bitmapIndex;
+            while ((bitmapIndex = bitSet.select0(nodeId)) >= 0) {
+                nodeId = bitmapIndex + 1 - nodeId;
+            }
+            bh.consume(nodeId);
+        }
+    }
+}
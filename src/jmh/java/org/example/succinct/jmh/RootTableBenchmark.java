@@ -0,0 +1,38 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link CharSuccinctTrie2#withRootTable} 不同深度下的查询耗时，查找表占用的内存在初始化时打印，
+ * 与 Trie 本身的大小（标签与三个位图）对照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootTableBenchmark {
+    @Param({"0", "1", "2"})
+    public int rootDepth;
+
+    private CharSuccinctTrie2 trie;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = CharSuccinctTrie2.sortedOf(state.copyOfKeys()).withRootTable(rootDepth);
+        System.out.printf("%n%s, root table: %,d bytes%n", trie, trie.rootTableBytes());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void contains(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.contains(query));
+        }
+    }
+}
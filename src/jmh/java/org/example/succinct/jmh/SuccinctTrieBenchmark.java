@@ -0,0 +1,82 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuccinctTrieBenchmark {
+    @Param
+    public TrieImpl implementation;
+
+    private SuccinctTrie trie;
+    private int[] nodeIds;
+
+    @Setup(Level.Trial)
+    public void setUp(KeyState state) {
+        trie = implementation.build(state.copyOfKeys());
+        // get 的查询目标：命中的节点 ID，未命中的位置退化为根节点
+        nodeIds = new int[KeyState.BATCH];
+        for (int i = 0; i < KeyState.BATCH; i++) {
+            nodeIds[i] = Math.max(0, trie.index(state.queries[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void contains(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void index(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            bh.consume(trie.index(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void get(Blackhole bh) {
+        for (int nodeId : nodeIds) {
+            bh.consume(trie.get(nodeId));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KeyState.BATCH)
+    public void prefixKeysOf(KeyState state, Blackhole bh) {
+        for (String query : state.queries) {
+            Iterator<String> iterator = trie.prefixKeysOf(query);
+            while (iterator.hasNext()) {
+                bh.consume(iterator.next());
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterate(Blackhole bh) {
+        Iterator<String> iterator = trie.iterator(true);
+        while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SuccinctTrie build(KeyState state) {
+        return implementation.build(state.copyOfKeys());
+    }
+}
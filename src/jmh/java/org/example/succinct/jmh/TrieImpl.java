@@ -0,0 +1,30 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.common.CompactRadixTree;
+import org.example.succinct.core.*;
+
+import java.util.function.Function;
+
+/**
+ * 参与基准测试的 {@link SuccinctTrie} 实现，构建函数均接收已排序去重的键
+ */
+public enum TrieImpl {
+    CHAR_SUCCINCT_TRIE(CharSuccinctTrie::sortedOf),
+    CHAR_SUCCINCT_TRIE2(CharSuccinctTrie2::sortedOf),
+    BYTE_SUCCINCT_TRIE(ByteSuccinctTrie::of),
+    BYTE_SUCCINCT_TRIE2(ByteSuccinctTrie2::of),
+    NESTED_SUCCINCT_TRIE(NestedSuccinctTrie::sortedOf),
+    SIMPLE_SUCCINCT_TRIE(SimpleSuccinctTrie::of),
+    COMPACT_RADIX_TREE(CompactRadixTree::new);
+
+    private final Function<String[], SuccinctTrie> constructor;
+
+    TrieImpl(Function<String[], SuccinctTrie> constructor) {
+        this.constructor = constructor;
+    }
+
+    public SuccinctTrie build(String[] sortedKeys) {
+        return constructor.apply(sortedKeys);
+    }
+}
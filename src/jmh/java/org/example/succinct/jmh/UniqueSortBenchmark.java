@@ -0,0 +1,77 @@
+package org.example.succinct.jmh;
+
+import org.example.succinct.utils.StringGenerateUtil;
+import org.example.succinct.utils.UniqueSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比构建前的排序去重：{@link UniqueSort} 的并行 MSD 基数排序与 {@code Arrays.parallelSort} + 线性去重。
+ * 每次调用都先复制输入，两边包含相同的复制开销。一亿个键需要较大的堆：
+ * {@code -p keyCount=100000000 -jvmArgs -Xmx32g}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class UniqueSortBenchmark {
+    @Param({"10000000"})
+    public int keyCount;
+
+    @Param({"16"})
+    public int keyLength;
+
+    @Param({"0.0", "0.5"})
+    public float chineseRatio;
+
+    private String[] keys;
+    private byte[][] keyBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = StringGenerateUtil.randomArray(keyCount, 1, keyLength, chineseRatio);
+        keyBytes = Arrays.stream(keys).map(key -> key.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    @Benchmark
+    public int uniqueSortChars() {
+        return UniqueSort.sort(keys.clone(), ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int parallelSortChars() {
+        String[] copy = keys.clone();
+        Arrays.parallelSort(copy);
+        int unique = 1;
+        for (int i = 1; i < copy.length; i++) {
+            if (!copy[i].equals(copy[unique - 1])) {
+                copy[unique++] = copy[i];
+            }
+        }
+        return unique;
+    }
+
+    @Benchmark
+    public int uniqueSortBytes() {
+        return UniqueSort.sort(keyBytes.clone(), ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int parallelSortBytes() {
+        byte[][] copy = keyBytes.clone();
+        Arrays.parallelSort(copy, Arrays::compare);
+        int unique = 1;
+        for (int i = 1; i < copy.length; i++) {
+            if (!Arrays.equals(copy[i], copy[unique - 1])) {
+                copy[unique++] = copy[i];
+            }
+        }
+        return unique;
+    }
+}
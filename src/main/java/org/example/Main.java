@@ -93,7 +93,6 @@ public class Main {
         Arrays.parallelSort(keys);
         Queue<Range> queue = new ArrayDeque<>();
         queue.add(new Range(0, keys.length, 0));
-        int bitPos = 0;
         while (!queue.isEmpty()) {
             Range range = queue.poll();
             int L = range.L(), R = range.R(), index = range.index();
@@ -115,11 +114,11 @@ public class Main {
                     }
                     end++;
                 }
-                builder.set(bitPos++, false);
+                builder.append(false);
                 queue.add(new Range(start, end, index + 1));
                 start = end;
             }
-            builder.set(bitPos++, true);
+            builder.appendOne();
         }
         return builder.build(true);
     }
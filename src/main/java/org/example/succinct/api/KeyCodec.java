@@ -0,0 +1,81 @@
+package org.example.succinct.api;
+
+import org.example.succinct.utils.CharsetCodec;
+import org.example.succinct.utils.Latin1Codec;
+import org.example.succinct.utils.Utf8Codec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>字节 Trie 的键编解码器</p>
+ * 直接在调用方提供的数组上编解码，实现需保证线程安全。无法编码的字符按 {@code CodingErrorAction.REPLACE} 处理，
+ * 与 {@link java.nio.charset.CharsetEncoder} 的输出逐字节一致，因此更换编解码器不影响已保存的文件
+ */
+public interface KeyCodec {
+
+    /**
+     * UTF-8 与 ISO-8859-1 使用手写的快速实现，其余字符集使用 {@link java.nio.charset.CharsetEncoder}
+     */
+    static KeyCodec of(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return Utf8Codec.INSTANCE;
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            return Latin1Codec.INSTANCE;
+        }
+        return new CharsetCodec(charset);
+    }
+
+    /**
+     * 不对应 JDK 字符集的编解码器返回 null，此时需覆盖 {@link #name()} 与 {@link #decode(byte[], int, int)}
+     */
+    Charset charset();
+
+    /**
+     * 保存到文件时记录的名称，默认为字符集名
+     */
+    default String name() {
+        return charset().name();
+    }
+
+    /**
+     * 长度为 length 的字符串编码后的最大字节数
+     */
+    int maxBytes(int length);
+
+    /**
+     * 将 key 编码写入 {@code out[off, ...)}，剩余空间至少需要 {@link #maxBytes(int) maxBytes(key.length())} 个字节
+     *
+     * @return 写入的字节数
+     */
+    int encode(CharSequence key, byte[] out, int off);
+
+    /**
+     * 构建 Trie 时编码键，默认与 {@link #encode(CharSequence, byte[], int)} 相同（无法编码的字符被替换）；
+     * 替换会使不同的键变得相同时，实现应改为拒绝
+     *
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 键无法无损编码
+     */
+    default int encodeKey(CharSequence key, byte[] out, int off) {
+        return encode(key, out, off);
+    }
+
+    /**
+     * 将 {@code src[off, off + len)} 解码写入 {@code dst[dstOff, ...)}，剩余空间至少需要 len 个字符
+     *
+     * @return 写入的字符数
+     */
+    int decode(byte[] src, int off, int len, char[] dst, int dstOff);
+
+    default String decode(byte[] src, int off, int len) {
+        return new String(src, off, len, charset());
+    }
+
+    default byte[] encode(CharSequence key) {
+        byte[] out = new byte[maxBytes(key.length())];
+        return Arrays.copyOf(out, encode(key, out, 0));
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.succinct.api;
+
+/**
+ * 遍历键的回调，键以复用缓冲区的形式传入，遍历过程中不为每个键创建 String
+ */
+@FunctionalInterface
+public interface KeyVisitor {
+    /**
+     * @param chars  复用的缓冲区，其中 [0, length) 为当前键，仅在本次回调内有效
+     * @param length 当前键的长度
+     * @return 是否继续遍历，返回 false 时立即终止
+     */
+    boolean visit(char[] chars, int length);
+}
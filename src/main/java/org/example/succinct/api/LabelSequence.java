@@ -0,0 +1,72 @@
+package org.example.succinct.api;
+
+import java.nio.CharBuffer;
+
+/**
+ * Trie 按 BFS 顺序排列的边标签序列，支持随机访问；同一节点的子节点标签连续且升序
+ */
+public interface LabelSequence {
+
+    int length();
+
+    char get(int index);
+
+    /**
+     * 在升序区间 [from, to) 中查找标签，区间较短时逐个比较，否则二分查找
+     *
+     * @return 标签 c 的下标，不存在时返回 -1
+     */
+    default int indexOf(int from, int to, char c) {
+        if (to - from < 8) {
+            for (int i = from; i < to; i++) {
+                if (get(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int low = from, high = to - 1;
+        while (low <= high) {
+            int mid = low + high >>> 1;
+            char label = get(mid);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 可直接读取的底层数组（下标与序列一致），没有时返回 null
+     */
+    default char[] array() {
+        return null;
+    }
+
+    /**
+     * 以 CharBuffer（堆上数组或映射自文件）作为标签序列，不复制
+     */
+    static LabelSequence of(CharBuffer buffer) {
+        char[] array = buffer.hasArray() && buffer.arrayOffset() == 0 ? buffer.array() : null;
+        return new LabelSequence() {
+            @Override
+            public int length() {
+                return buffer.capacity();
+            }
+
+            @Override
+            public char get(int index) {
+                return buffer.get(index);
+            }
+
+            @Override
+            public char[] array() {
+                return array;
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.succinct.api;
+
+/**
+ * 文本扫描的回调，每次命中一个键在文本中的一处出现，不为命中创建 String
+ */
+@FunctionalInterface
+public interface MatchVisitor {
+    /**
+     * @param start  命中在文本中的起始下标（含）
+     * @param end    命中在文本中的结束下标（不含）
+     * @param nodeId 命中键的节点 ID，可用于 {@code get} 或作为外部数组的下标
+     * @return 是否继续扫描，返回 false 时立即终止
+     */
+    boolean visit(int start, int end, int nodeId);
+}
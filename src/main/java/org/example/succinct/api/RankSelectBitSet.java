@@ -1,6 +1,6 @@
 package org.example.succinct.api;
 
-import java.util.List;
+import java.util.Arrays;
 
 public interface RankSelectBitSet {
 
@@ -25,36 +25,97 @@ public interface RankSelectBitSet {
         return n < min || n > max;
     }
 
+    /**
+     * 基于原始 long[] 的可增长位图构建器，支持随机写入 {@link #set} 与顺序追加 {@link #append}
+     */
     abstract class Builder {
-        protected final List<Long> bits;
+        protected long[] bits;
         protected int size = 0;
         protected int count = 0;
 
-        protected Builder(List<Long> bits) {
-            this.bits = bits;
+        protected Builder() {
+            this(64);
+        }
+
+        protected Builder(int size) {
+            this.bits = new long[Math.max(1, size + 63 >>> 6)];
         }
 
         public void set(int position, boolean value) {
             ensureCapacity(position);
             int block = position >> 6;
-            int offset = position & 0x3F;
-            long mask = 1L << offset;
-            long oldBlock = bits.get(block);
+            long mask = 1L << position;
+            long oldBlock = bits[block];
             if (value) {
-                bits.set(block, oldBlock | mask); // 设置位为1
+                bits[block] = oldBlock | mask; // 设置位为1
             } else {
-                bits.set(block, oldBlock & ~mask); // 设置位为0
+                bits[block] = oldBlock & ~mask; // 设置位为0
             }
             // 仅当位的值实际发生变化时更新计数器
             if ((oldBlock & mask) == 0 == value) {
-                count += value ? 1 : 0;
+                count += value ? 1 : -1;
             }
         }
 
+        public void append(boolean value) {
+            if (value) {
+                appendOne();
+            } else {
+                appendZeros(1);
+            }
+        }
+
+        public void appendOne() {
+            int position = size;
+            ensureCapacity(position);
+            bits[position >> 6] |= 1L << position;
+            count++;
+        }
+
+        /**
+         * 追加 n 个 0，新分配的字本身为 0，只需移动末尾
+         */
+        public void appendZeros(int n) {
+            if (n > 0) {
+                ensureCapacity(size + n - 1);
+            }
+        }
+
+        /**
+         * 按字整体追加另一个构建器中的全部位
+         */
+        public void append(Builder other) {
+            int n = other.size, shift = size & 63, offset = size >>> 6;
+            if (n == 0) {
+                return;
+            }
+            ensureCapacity(size + n - 1);
+            // 源构建器末尾多余的位总是 0，溢出到下一个字的部分可以直接忽略
+            for (int i = 0, words = n + 63 >>> 6; i < words; i++) {
+                long word = other.bits[i];
+                bits[offset + i] |= word << shift;
+                if (shift != 0 && offset + i + 1 < bits.length) {
+                    bits[offset + i + 1] |= word >>> 64 - shift;
+                }
+            }
+            count += other.count;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 截断到实际长度的位数组
+         */
+        protected long[] words() {
+            return Arrays.copyOf(bits, size + 63 >>> 6);
+        }
+
         private void ensureCapacity(int position) {
             int requiredBlocks = (position >> 6) + 1;
-            while (bits.size() < requiredBlocks) {
-                bits.add(0L);
+            if (requiredBlocks > bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(requiredBlocks, bits.length + (bits.length >> 1)));
             }
             size = Math.max(size, position + 1);
         }
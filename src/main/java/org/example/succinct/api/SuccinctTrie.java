@@ -1,5 +1,8 @@
 package org.example.succinct.api;
 
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -20,6 +23,93 @@ public interface SuccinctTrie {
 
     Iterator<String> prefixSearch(String prefix);
 
+    /**
+     * 将所有以 prefix 开头的键依次交给 visitor，顺序与 {@link #prefixSearch(String)} 一致。
+     * 默认实现基于迭代器，仍会为每个键创建 String，实现类应改为直接复用内部缓冲区
+     *
+     * @return 已交给 visitor 的键的个数
+     */
+    default int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        Iterator<String> iterator = prefixSearch(prefix.toString());
+        char[] chars = new char[16];
+        int count = 0;
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            if (key.length() > chars.length) {
+                chars = new char[Math.max(key.length(), chars.length << 1)];
+            }
+            key.getChars(0, key.length(), chars, 0);
+            count++;
+            if (!visitor.visit(chars, key.length())) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 以 text[from] 开头的最长键的长度，只返回长度而不创建字符串，适合对文本做最大正向匹配分词。
+     * 默认实现基于 {@link #prefixKeysOf(String)}
+     *
+     * @return 最长匹配键的长度，空串为键时可能返回 0；不存在匹配时返回 -1
+     */
+    default int longestPrefixMatch(CharSequence text, int from) {
+        int longest = -1;
+        Iterator<String> prefixes = prefixKeysOf(text.subSequence(from, text.length()).toString());
+        while (prefixes.hasNext()) {
+            longest = Math.max(longest, prefixes.next().length());
+        }
+        return longest < 0 && contains("") ? 0 : longest;
+    }
+
+    /**
+     * 按 {@link #iterator(boolean) 有序迭代} 的顺序惰性返回被自动机接受的所有键，可用于正则（{@code RegExp}）或通配符（{@code WildcardQuery.toAutomaton}）匹配。
+     * 自动机须是确定性的（可先调用 {@code Operations.determinize}），其字母表为 Unicode 码点。
+     * 默认实现逐个检查有序迭代的键，实现类应改为只沿自动机仍存活的边下降
+     */
+    default Iterator<String> intersect(Automaton automaton) {
+        CharacterRunAutomaton runAutomaton = new CharacterRunAutomaton(automaton);
+        Iterator<String> keys = iterator(true);
+        return new TermIterator() {
+            {
+                advance();
+            }
+
+            @Override
+            protected void advance() {
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    if (runAutomaton.run(key)) {
+                        next = key;
+                        return;
+                    }
+                }
+                next = null;
+            }
+        };
+    }
+
+    /**
+     * 批量查询，结果与逐个调用 {@link #index(String)} 相同。
+     * 查询按字典序排列时，实现可复用与上一个查询的公共前缀已走过的下降路径
+     */
+    default int[] indexAll(String[] queries) {
+        int[] indexes = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            indexes[i] = index(queries[i]);
+        }
+        return indexes;
+    }
+
+    default boolean[] containsAll(String[] queries) {
+        int[] indexes = indexAll(queries);
+        boolean[] result = new boolean[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            result[i] = indexes[i] >= 0;
+        }
+        return result;
+    }
+
     abstract class TermIterator implements Iterator<String> {
         protected String next = "";
 
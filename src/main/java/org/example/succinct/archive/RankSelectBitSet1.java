@@ -15,20 +15,16 @@ public class RankSelectBitSet1 implements RankSelectBitSet {
     // 构建器模式
     public static class Builder extends RankSelectBitSet.Builder {
         public Builder() {
-            super(new ArrayList<>());
+            super();
         }
 
         public Builder(int size) {
-            super(new ArrayList<>(size + 63 >> 6));
+            super(size);
         }
 
         @Override
         public RankSelectBitSet1 build(boolean rankSelect) {
-            long[] array = new long[bits.size()];
-            for (int i = 0; i < bits.size(); i++) {
-                array[i] = bits.get(i);
-            }
-            return new RankSelectBitSet1(array, size, rankSelect);
+            return new RankSelectBitSet1(words(), size, rankSelect);
         }
     }
 
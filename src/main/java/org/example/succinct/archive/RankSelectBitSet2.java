@@ -3,7 +3,6 @@ package org.example.succinct.archive;
 import org.example.succinct.api.RankSelectBitSet;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.sux4j.util.EliasFanoMonotoneLongBigList;
 
 public class RankSelectBitSet2 implements RankSelectBitSet {
@@ -15,33 +14,33 @@ public class RankSelectBitSet2 implements RankSelectBitSet {
     // 构建器模式
     public static class Builder extends RankSelectBitSet.Builder {
         public Builder() {
-            super(new LongArrayList());
+            super();
         }
 
         public Builder(int size) {
-            super(new LongArrayList(size + 63 >> 6));
+            super(size);
         }
 
         @Override
         public RankSelectBitSet2 build(boolean rankSelect) {
-            return new RankSelectBitSet2((LongArrayList) bits, size, rankSelect);
+            return new RankSelectBitSet2(words(), size, rankSelect);
         }
     }
 
-    private RankSelectBitSet2(LongArrayList bits, int size, boolean rankSelect) {
-        this.bits = bits.toLongArray();
+    private RankSelectBitSet2(long[] bits, int size, boolean rankSelect) {
+        this.bits = bits;
         this.size = size;
 
         if (rankSelect) {
-            IntArrayList ranks1 = new IntArrayList(bits.size() + 1);
+            IntArrayList ranks1 = new IntArrayList(bits.length + 1);
             IntArrayList selects1 = new IntArrayList();
             int totalOnes = 0;
-            for (int i = 0; i < bits.size(); i++) {
+            for (int i = 0; i < bits.length; i++) {
                 ranks1.add(totalOnes);
-                int blockOnes = Long.bitCount(bits.getLong(i));
+                int blockOnes = Long.bitCount(bits[i]);
                 totalOnes += blockOnes;
 
-                long block = bits.getLong(i);
+                long block = bits[i];
                 for (int j = 0; j < 64; j++) {
                     if ((block & (1L << j)) != 0) {
                         selects1.add((i << 6) + j);
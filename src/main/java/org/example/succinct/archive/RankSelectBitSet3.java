@@ -1,44 +1,47 @@
 package org.example.succinct.archive;
 
 import it.unimi.dsi.bits.LongArrayBitVector;
-import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.sux4j.bits.RankSelect;
+import it.unimi.dsi.sux4j.bits.SimpleSelectZero;
 import it.unimi.dsi.sux4j.bits.SparseSelect;
 import org.example.succinct.api.RankSelectBitSet;
 
 public class RankSelectBitSet3 implements RankSelectBitSet {
     private final LongArrayBitVector bits;
     private final RankSelect rankSelect;
+    private final SimpleSelectZero selectZero;
     public final int oneCount;
     public final int size;
 
     // 构建器模式
     public static class Builder extends RankSelectBitSet.Builder {
         public Builder() {
-            super(new LongArrayList());
+            super();
         }
 
         public Builder(int size) {
-            super(new LongArrayList(size + 63 >> 6));
+            super(size);
         }
 
         @Override
         public RankSelectBitSet3 build(boolean rankSelect) {
-            return new RankSelectBitSet3((LongArrayList) bits, size, rankSelect);
+            return new RankSelectBitSet3(words(), size, rankSelect);
         }
     }
 
-    private RankSelectBitSet3(LongArrayList bits, int size, boolean rankSelect) {
-        this.bits = LongArrayBitVector.wrap(bits.toLongArray());
+    private RankSelectBitSet3(long[] bits, int size, boolean rankSelect) {
+        this.bits = LongArrayBitVector.wrap(bits);
         this.size = size;
 
         if (rankSelect) {
             SparseSelect select = new SparseSelect(this.bits);
             this.rankSelect = new RankSelect(select.getRank(), select);
             this.oneCount = (int) this.rankSelect.rank(size);
+            this.selectZero = new SimpleSelectZero(this.bits);
         } else {
             this.oneCount = 0;
             this.rankSelect = null;
+            this.selectZero = null;
         }
     }
 
@@ -99,17 +102,6 @@ public class RankSelectBitSet3 implements RankSelectBitSet {
         if (k == 0 || isInvalid(k, 1, size - oneCount)) {
             return -1;
         }
-        int low = 0, high = size - 1;
-        while (low <= high) {
-            int mid = (low + high) >>> 1;
-            // 计算[0, mid]区间内的0的个数
-            if (rank0(mid) < k) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
-            }
-        }
-        // 满足rank0(low) >= k的最小位置即第k个0的位置
-        return low;
+        return (int) selectZero.selectZero(k - 1);
     }
 }
\ No newline at end of file
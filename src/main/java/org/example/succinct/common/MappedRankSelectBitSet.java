@@ -0,0 +1,243 @@
+package org.example.succinct.common;
+
+import it.unimi.dsi.bits.Fast;
+import org.example.succinct.api.RankSelectBitSet;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * <p>基于 {@link LongBuffer} 的位图，数据与 rank/select 目录均位于缓冲区内，可直接由
+ * {@link java.nio.channels.FileChannel#map} 映射的文件构造，无需反序列化</p>
+ * 布局：每 256 位为一个块，块头（1 个 long）与 4 个数据字交错存放：
+ * 块头高 32 位为块前 1 的累计个数，低 32 位的第 w 个字节为块内前 w 个字中 1 的个数
+ */
+public class MappedRankSelectBitSet implements RankSelectBitSet {
+    /**
+     * 每隔 SAMPLE 个 1（或 0）记录一次其所在的块，用于加速 select
+     */
+    public static final int SAMPLE = 512;
+    static final int BLOCK_WORDS = 5;
+
+    private final LongBuffer blocks;
+    private final IntBuffer selects1;
+    private final IntBuffer selects0;
+    private final int size;
+    private final int oneCount;
+
+    public MappedRankSelectBitSet(LongBuffer blocks, IntBuffer selects1, IntBuffer selects0, int size, int oneCount) {
+        this.blocks = blocks;
+        this.selects1 = selects1;
+        this.selects0 = selects0;
+        this.size = size;
+        this.oneCount = oneCount;
+    }
+
+    /**
+     * 由原始位数组构建交错布局，末尾额外保留一个哨兵块
+     */
+    public static long[] layout(long[] words, int size) {
+        int blockCount = (size >>> 8) + 1;
+        long[] blocks = new long[blockCount * BLOCK_WORDS];
+        long count = 0;
+        for (int b = 0; b < blockCount; b++) {
+            long header = count << 32, inner = 0;
+            for (int w = 0; w < 4; w++) {
+                int i = (b << 2) + w;
+                long word = i < words.length ? words[i] : 0L;
+                header |= inner << (w << 3);
+                inner += Long.bitCount(word);
+                blocks[b * BLOCK_WORDS + 1 + w] = word;
+            }
+            blocks[b * BLOCK_WORDS] = header;
+            count += inner;
+        }
+        return blocks;
+    }
+
+    /**
+     * 采样第 {@code 1 + j * SAMPLE} 个 1（或 0）所在的块
+     */
+    public static int[] samples(long[] blocks, int size, boolean one) {
+        int blockCount = blocks.length / BLOCK_WORDS;
+        int total = one ? oneCount(blocks) : size - oneCount(blocks);
+        int[] samples = new int[(total + SAMPLE - 1) / SAMPLE];
+        for (int j = 0, b = 0; j < samples.length; j++) {
+            long k = (long) j * SAMPLE + 1;
+            while (b + 1 < blockCount && count(blocks, b + 1, one) < k) {
+                b++;
+            }
+            samples[j] = b;
+        }
+        return samples;
+    }
+
+    /**
+     * 交错布局中 1 的总数
+     */
+    public static int oneCount(long[] blocks) {
+        int last = blocks.length - BLOCK_WORDS, count = (int) (blocks[last] >>> 32);
+        for (int w = 1; w < BLOCK_WORDS; w++) {
+            count += Long.bitCount(blocks[last + w]);
+        }
+        return count;
+    }
+
+    /**
+     * 从任意 {@link RankSelectBitSet} 中提取原始位数组
+     */
+    public static long[] words(RankSelectBitSet bitSet) {
+        int size = bitSet.size();
+        long[] words = new long[size + 63 >>> 6];
+        for (int i = bitSet.nextSetBit(0); i >= 0 && i < size; i = bitSet.nextSetBit(i + 1)) {
+            words[i >>> 6] |= 1L << i;
+        }
+        return words;
+    }
+
+    /**
+     * 在堆内构建一个与映射文件布局一致的位图
+     */
+    public static MappedRankSelectBitSet of(long[] words, int size) {
+        long[] blocks = layout(words, size);
+        return new MappedRankSelectBitSet(LongBuffer.wrap(blocks), IntBuffer.wrap(samples(blocks, size, true)),
+                IntBuffer.wrap(samples(blocks, size, false)), size, oneCount(blocks));
+    }
+
+    private static long count(long[] blocks, int block, boolean one) {
+        long ones = blocks[block * BLOCK_WORDS] >>> 32;
+        return one ? ones : ((long) block << 8) - ones;
+    }
+
+    private long ones(int block) {
+        return blocks.get(block * BLOCK_WORDS) >>> 32;
+    }
+
+    private long zeros(int block) {
+        return ((long) block << 8) - ones(block);
+    }
+
+    private long word(int i) {
+        return blocks.get((i >>> 2) * BLOCK_WORDS + 1 + (i & 3));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int oneCount() {
+        return oneCount;
+    }
+
+    @Override
+    public boolean get(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return false;
+        }
+        return (word(pos >>> 6) & 1L << pos) != 0;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        if (from < 0 || from >= size) {
+            return -1;
+        }
+        int i = from >>> 6, last = size - 1 >>> 6;
+        long word = word(i) & -1L << from;
+        while (word == 0) {
+            if (++i > last) {
+                return -1;
+            }
+            word = word(i);
+        }
+        int pos = (i << 6) + Long.numberOfTrailingZeros(word);
+        return pos < size ? pos : -1;
+    }
+
+    // [0, pos]
+    @Override
+    public int rank1(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return -1;
+        }
+        return rank(pos + 1);
+    }
+
+    // [0, pos)
+    private int rank(int pos) {
+        int base = (pos >>> 8) * BLOCK_WORDS, w = pos >>> 6 & 3;
+        long header = blocks.get(base);
+        int count = (int) (header >>> 32) + (int) (header >>> (w << 3) & 0xFF);
+        return count + Long.bitCount(blocks.get(base + 1 + w) & (1L << pos) - 1);
+    }
+
+    // 从1开始
+    @Override
+    public int select1(int k) {
+        if (k == 0 || isInvalid(k, 1, oneCount)) {
+            return -1;
+        }
+        int block = findBlock(selects1, k, true);
+        int base = block * BLOCK_WORDS;
+        long header = blocks.get(base);
+        int remain = k - (int) (header >>> 32), w = 3;
+        while ((header >>> (w << 3) & 0xFF) >= remain) {
+            w--;
+        }
+        remain -= (int) (header >>> (w << 3) & 0xFF);
+        return (block << 8) + (w << 6) + Fast.select(blocks.get(base + 1 + w), remain - 1);
+    }
+
+    // 返回位图在 [0, pos] 中 0 的个数
+    @Override
+    public int rank0(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return -1;
+        }
+        return pos + 1 - rank(pos + 1);
+    }
+
+    // 返回位图第 k 个 0 所在的位置，等价于求：rank0(?) = k
+    @Override
+    public int select0(int k) {
+        if (k == 0 || isInvalid(k, 1, size - oneCount)) {
+            return -1;
+        }
+        int block = findBlock(selects0, k, false);
+        int base = block * BLOCK_WORDS;
+        long header = blocks.get(base);
+        int remain = k - (int) zeros(block), w = 3;
+        while ((w << 6) - (header >>> (w << 3) & 0xFF) >= remain) {
+            w--;
+        }
+        remain -= (w << 6) - (int) (header >>> (w << 3) & 0xFF);
+        return (block << 8) + (w << 6) + Fast.select(~blocks.get(base + 1 + w), remain - 1);
+    }
+
+    /**
+     * 找到第 k 个 1（或 0）所在的块：先由采样定位区间，区间较小时线性扫描，否则二分查找
+     */
+    private int findBlock(IntBuffer samples, int k, boolean one) {
+        int j = (k - 1) / SAMPLE;
+        int low = samples.get(j);
+        int high = j + 1 < samples.limit() ? samples.get(j + 1) : blocks.limit() / BLOCK_WORDS - 1;
+        if (high - low > 8) {
+            // 找到最后一个累计个数 < k 的块
+            while (low < high) {
+                int mid = low + high + 1 >>> 1;
+                if ((one ? ones(mid) : zeros(mid)) < k) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+        while (low < high && (one ? ones(low + 1) : zeros(low + 1)) < k) {
+            low++;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.succinct.common;
+
+import org.example.succinct.api.LabelSequence;
+
+/**
+ * <p>分块定宽压缩的标签序列：每 64 个标签一块，块内存放相对块内最小值的差值，位宽由块内的极差决定</p>
+ * 块目录每块一个 long：低 40 位为块数据的起始位偏移，接着 5 位为位宽（0~16），高 16 位为块内最小值。
+ * 随机访问只需读取一个目录项与至多两个数据字，仍为 O(1)。ASCII 为主的块位宽约为 7 位，
+ * 加上目录每个标签 1 位，约为原始 char 的一半；CJK 的码点分布较广，块位宽接近 16 位，几乎不能压缩
+ */
+public final class PackedLabelSequence implements LabelSequence {
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final long OFFSET_MASK = (1L << 40) - 1;
+
+    private final long[] bits;
+    private final long[] directory;
+    private final int length;
+
+    public static PackedLabelSequence of(LabelSequence labels) {
+        char[] chars = new char[labels.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = labels.get(i);
+        }
+        return new PackedLabelSequence(chars);
+    }
+
+    public PackedLabelSequence(char[] labels) {
+        this.length = labels.length;
+        this.directory = new long[length + BLOCK_SIZE - 1 >>> BLOCK_SHIFT];
+        long offset = 0;
+        for (int block = 0; block < directory.length; block++) {
+            int from = block << BLOCK_SHIFT, to = Math.min(length, from + BLOCK_SIZE);
+            char min = Character.MAX_VALUE, max = 0;
+            for (int i = from; i < to; i++) {
+                min = (char) Math.min(min, labels[i]);
+                max = (char) Math.max(max, labels[i]);
+            }
+            int width = 32 - Integer.numberOfLeadingZeros(max - min);
+            directory[block] = (long) min << 48 | (long) width << 40 | offset;
+            offset += (long) width * (to - from);
+        }
+        this.bits = new long[(int) (offset + 63 >>> 6)];
+        for (int i = 0; i < length; i++) {
+            long entry = directory[i >>> BLOCK_SHIFT];
+            int width = (int) (entry >>> 40) & 31;
+            if (width == 0) {
+                continue;
+            }
+            long value = labels[i] - (entry >>> 48);
+            long pos = (entry & OFFSET_MASK) + (long) (i & BLOCK_SIZE - 1) * width;
+            int word = (int) (pos >>> 6), shift = (int) pos & 63;
+            bits[word] |= value << shift;
+            if (shift + width > 64) {
+                bits[word + 1] |= value >>> 64 - shift;
+            }
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char get(int index) {
+        long entry = directory[index >>> BLOCK_SHIFT];
+        int width = (int) (entry >>> 40) & 31;
+        char min = (char) (entry >>> 48);
+        if (width == 0) {
+            return min;
+        }
+        long pos = (entry & OFFSET_MASK) + (long) (index & BLOCK_SIZE - 1) * width;
+        int word = (int) (pos >>> 6), shift = (int) pos & 63;
+        long value = bits[word] >>> shift;
+        if (shift + width > 64) {
+            value |= bits[word + 1] << 64 - shift;
+        }
+        return (char) (min + (value & (1L << width) - 1));
+    }
+
+    /**
+     * 区间落在同一块内时只读取一次目录项，并在差值上直接比较，免去逐个解码
+     */
+    @Override
+    public int indexOf(int from, int to, char c) {
+        int block = from >>> BLOCK_SHIFT;
+        if (to - from < 2 || block != to - 1 >>> BLOCK_SHIFT) {
+            return LabelSequence.super.indexOf(from, to, c);
+        }
+        long entry = directory[block];
+        int width = (int) (entry >>> 40) & 31;
+        long target = c - (entry >>> 48);
+        if (target < 0 || target >>> width != 0) {
+            return -1;
+        }
+        if (width == 0) {
+            return from;
+        }
+        long base = entry & OFFSET_MASK, mask = (1L << width) - 1;
+        int low = from, high = to - 1;
+        while (low <= high) {
+            int mid = low + high >>> 1;
+            long pos = base + (long) (mid & BLOCK_SIZE - 1) * width;
+            int word = (int) (pos >>> 6), shift = (int) pos & 63;
+            long value = bits[word] >>> shift;
+            if (shift + width > 64) {
+                value |= bits[word + 1] << 64 - shift;
+            }
+            value &= mask;
+            if (value < target) {
+                low = mid + 1;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 数据与块目录占用的字节数
+     */
+    public long bytes() {
+        return (long) (bits.length + directory.length) * Long.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PackedLabelSequence[%d labels, %.2f bits/label]", length,
+                length == 0 ? 0 : bytes() * 8.0 / length);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.succinct.common;
+
+import it.unimi.dsi.fastutil.longs.LongBigList;
+
+/**
+ * <p>区间最大值查询（RMQ）：返回区间内最大值的下标，多个最大值时取最左侧</p>
+ * 每 BLOCK 个元素为一块，仅对块最大值建立稀疏表，块内部分线性扫描，
+ * 额外空间约为 {@code (n / BLOCK) * log(n / BLOCK)} 个 int
+ */
+public class RangeMax {
+    private static final int BLOCK = 64;
+
+    private final LongBigList values;
+    private final int size;
+    // sparse[j][b]：第 b 块起连续 2^j 块中最大值的下标
+    private final int[][] sparse;
+
+    public RangeMax(LongBigList values) {
+        this.values = values;
+        this.size = (int) values.size64();
+        int blocks = (size + BLOCK - 1) / BLOCK;
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(blocks));
+        sparse = new int[levels][];
+        sparse[0] = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            sparse[0][b] = scan(b * BLOCK, Math.min(size, (b + 1) * BLOCK));
+        }
+        for (int j = 1; j < levels; j++) {
+            int half = 1 << j - 1, count = blocks - (1 << j) + 1;
+            sparse[j] = new int[count];
+            for (int b = 0; b < count; b++) {
+                sparse[j][b] = better(sparse[j - 1][b], sparse[j - 1][b + half]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        return values.getLong(index);
+    }
+
+    /**
+     * @return 区间 [from, to) 中最大值的下标；区间为空时返回 -1
+     */
+    public int argMax(int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int first = from / BLOCK, last = (to - 1) / BLOCK;
+        if (last - first <= 1) {
+            return scan(from, to);
+        }
+        int left = scan(from, (first + 1) * BLOCK), right = scan(last * BLOCK, to);
+        // 中间的整块 [first + 1, last) 用稀疏表中两段重叠的区间覆盖
+        int count = last - first - 1, j = 31 - Integer.numberOfLeadingZeros(count);
+        int middle = better(sparse[j][first + 1], sparse[j][last - (1 << j)]);
+        return better(better(left, middle), right);
+    }
+
+    private int scan(int from, int to) {
+        int best = from;
+        long max = values.getLong(from);
+        for (int i = from + 1; i < to; i++) {
+            long value = values.getLong(i);
+            if (value > max) {
+                max = value;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        long va = values.getLong(a), vb = values.getLong(b);
+        return va > vb || va == vb && a < b ? a : b;
+    }
+}
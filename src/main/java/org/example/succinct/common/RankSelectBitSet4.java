@@ -2,7 +2,6 @@ package org.example.succinct.common;
 
 import it.unimi.dsi.bits.BitVector;
 import it.unimi.dsi.bits.LongArrayBitVector;
-import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.sux4j.bits.HintedBsearchSelect;
 import it.unimi.dsi.sux4j.bits.Rank9;
 import it.unimi.dsi.sux4j.bits.RankSelect;
@@ -19,25 +18,25 @@ public class RankSelectBitSet4 implements RankSelectBitSet {
     // 构建器模式
     public static class Builder extends RankSelectBitSet.Builder {
         public Builder() {
-            super(new LongArrayList());
+            super();
         }
 
         public Builder(int size) {
-            super(new LongArrayList(size + 63 >> 6));
+            super(size);
         }
 
         @Override
         public RankSelectBitSet4 build(boolean rankSelect) {
-            return new RankSelectBitSet4((LongArrayList) bits, size, count, rankSelect);
+            return new RankSelectBitSet4(words(), size, count, rankSelect);
         }
 
         public BitVector bitVector() {
-            return LongArrayBitVector.wrap(((LongArrayList) bits).toLongArray());
+            return LongArrayBitVector.wrap(words(), size);
         }
     }
 
-    public RankSelectBitSet4(LongArrayList bits, int size, int count, boolean rankSelect) {
-        this.bits = LongArrayBitVector.wrap(bits.toLongArray());
+    public RankSelectBitSet4(long[] bits, int size, int count, boolean rankSelect) {
+        this.bits = LongArrayBitVector.wrap(bits);
         this.size = size;
         this.oneCount = count;
 
@@ -0,0 +1,232 @@
+package org.example.succinct.common;
+
+import it.unimi.dsi.bits.Fast;
+import org.example.succinct.api.RankSelectBitSet;
+
+import java.util.Arrays;
+
+/**
+ * <p>不依赖 sux4j 的自实现位图，针对 LOUDS 的 select1 / select0 / rank1 访问模式调优</p>
+ * rank 目录与 Rank9 相同：每 512 位一个块，用两个 long 记录块前 1 的累计个数与块内前 1~7 个字中 1 的个数（每个 9 位）。
+ * select 采样直接记录第 {@code 1 + j * SAMPLE} 个 1（或 0）的位置：LOUDS 中 0 与 1 大致各半，
+ * 从采样位置向后逐字 popcount 通常只需扫描 1~2 个相邻的字；采样间距过大（稀疏位图）时改为在 rank 目录上二分查找。
+ * 所有访问都直接落在数组上，没有接口或包装对象的间接调用。
+ * 对于 LOUDS 位图，rank 目录与两组采样共约占原始位图的 50%。
+ * 各 Trie 的构建均使用本实现：{@link RankSelectBitSet4} 的 select1 借助 HintedBsearchSelect 在 Rank9 目录上二分查找，
+ * 是 LOUDS 下降路径上的主要开销
+ */
+public class RankSelectBitSet5 implements RankSelectBitSet {
+    private static final int SAMPLE = 64;
+    /**
+     * 采样间距超过该位数时不再逐字扫描
+     */
+    private static final int MAX_SCAN = 8 << 6;
+
+    private final long[] bits;
+    private final long[] counts;
+    private final int[] selects1;
+    private final int[] selects0;
+    private final int lastBlock;
+    public final int oneCount;
+    public final int size;
+
+    // 构建器模式
+    public static class Builder extends RankSelectBitSet.Builder {
+        public Builder() {
+            super();
+        }
+
+        public Builder(int size) {
+            super(size);
+        }
+
+        @Override
+        public RankSelectBitSet5 build(boolean rankSelect) {
+            return new RankSelectBitSet5(words(), size, rankSelect);
+        }
+    }
+
+    public RankSelectBitSet5(long[] bits, int size, boolean rankSelect) {
+        int blockCount = (size >>> 9) + 1;
+        // 末尾补齐为整块，并保留一个哨兵块
+        this.bits = Arrays.copyOf(bits, blockCount << 3);
+        this.counts = new long[blockCount << 1];
+        this.size = size;
+        long count = 0;
+        for (int b = 0; b < blockCount; b++) {
+            long sub = 0, inner = 0;
+            for (int w = 0; w < 8; w++) {
+                if (w > 0) {
+                    sub |= inner << 9 * (w - 1);
+                }
+                inner += Long.bitCount(this.bits[(b << 3) + w]);
+            }
+            counts[b << 1] = count;
+            counts[(b << 1) + 1] = sub;
+            count += inner;
+        }
+        this.oneCount = (int) count;
+        this.lastBlock = blockCount - 1;
+        if (rankSelect) {
+            this.selects1 = samples(true);
+            this.selects0 = samples(false);
+        } else {
+            this.selects1 = null;
+            this.selects0 = null;
+        }
+    }
+
+    /**
+     * 采样第 {@code 1 + j * SAMPLE} 个 1（或 0）的位置，末尾追加 size 作为哨兵
+     */
+    private int[] samples(boolean one) {
+        int total = one ? oneCount : size - oneCount;
+        int[] samples = new int[(total + SAMPLE - 1) / SAMPLE + 1];
+        int j = 0, seen = 0;
+        for (int i = 0; i < bits.length && j < samples.length - 1; i++) {
+            long word = one ? bits[i] : ~bits[i];
+            int c = Long.bitCount(word);
+            while (j < samples.length - 1 && seen + c > j * SAMPLE) {
+                samples[j] = (i << 6) + Fast.select(word, j * SAMPLE - seen);
+                j++;
+            }
+            seen += c;
+        }
+        samples[samples.length - 1] = size;
+        return samples;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int oneCount() {
+        return oneCount;
+    }
+
+    @Override
+    public boolean get(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return false;
+        }
+        return (bits[pos >>> 6] & 1L << pos) != 0;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        if (from < 0 || from >= size) {
+            return -1;
+        }
+        int i = from >>> 6, last = size - 1 >>> 6;
+        long word = bits[i] & -1L << from;
+        while (word == 0) {
+            if (++i > last) {
+                return -1;
+            }
+            word = bits[i];
+        }
+        int pos = (i << 6) + Long.numberOfTrailingZeros(word);
+        return pos < size ? pos : -1;
+    }
+
+    // [0, pos]
+    @Override
+    public int rank1(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return -1;
+        }
+        return rank(pos + 1);
+    }
+
+    // [0, pos)
+    private int rank(int pos) {
+        int base = pos >>> 8 & ~1, t = (pos >>> 6 & 7) - 1;
+        // t = -1 时右移 63 位，块内计数取 0
+        long count = counts[base] + (counts[base + 1] >>> 9 * (t + (t >>> 28 & 8)) & 0x1FF);
+        return (int) count + Long.bitCount(bits[pos >>> 6] & (1L << pos) - 1);
+    }
+
+    // 从1开始
+    @Override
+    public int select1(int k) {
+        if (k == 0 || isInvalid(k, 1, oneCount)) {
+            return -1;
+        }
+        int j = (k - 1) / SAMPLE, from = selects1[j];
+        if (selects1[j + 1] - from <= MAX_SCAN) {
+            // 采样位置本身即第 j * SAMPLE + 1 个 1
+            int i = from >>> 6, remain = k - 1 - j * SAMPLE;
+            long word = bits[i] & -1L << from;
+            for (int c; (c = Long.bitCount(word)) <= remain; word = bits[++i]) {
+                remain -= c;
+            }
+            return (i << 6) + Fast.select(word, remain);
+        }
+        // 找到最后一个累计 1 的个数 < k 的块
+        int low = from >>> 9, high = Math.min(selects1[j + 1] >>> 9, lastBlock);
+        while (low < high) {
+            int mid = low + high + 1 >>> 1;
+            if (counts[mid << 1] < k) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int remain = k - (int) counts[low << 1], w = 7;
+        long sub = counts[(low << 1) + 1];
+        while (w > 0 && (sub >>> 9 * (w - 1) & 0x1FF) >= remain) {
+            w--;
+        }
+        if (w > 0) {
+            remain -= (int) (sub >>> 9 * (w - 1) & 0x1FF);
+        }
+        return (low << 9) + (w << 6) + Fast.select(bits[(low << 3) + w], remain - 1);
+    }
+
+    // 返回位图在 [0, pos] 中 0 的个数
+    @Override
+    public int rank0(int pos) {
+        if (isInvalid(pos, 0, size - 1)) {
+            return -1;
+        }
+        return pos + 1 - rank(pos + 1);
+    }
+
+    // 返回位图第 k 个 0 所在的位置，等价于求：rank0(?) = k
+    @Override
+    public int select0(int k) {
+        if (k == 0 || isInvalid(k, 1, size - oneCount)) {
+            return -1;
+        }
+        int j = (k - 1) / SAMPLE, from = selects0[j];
+        if (selects0[j + 1] - from <= MAX_SCAN) {
+            int i = from >>> 6, remain = k - 1 - j * SAMPLE;
+            long word = ~bits[i] & -1L << from;
+            for (int c; (c = Long.bitCount(word)) <= remain; word = ~bits[++i]) {
+                remain -= c;
+            }
+            return (i << 6) + Fast.select(word, remain);
+        }
+        // 找到最后一个累计 0 的个数 < k 的块
+        int low = from >>> 9, high = Math.min(selects0[j + 1] >>> 9, lastBlock);
+        while (low < high) {
+            int mid = low + high + 1 >>> 1;
+            if (((long) mid << 9) - counts[mid << 1] < k) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int remain = k - ((low << 9) - (int) counts[low << 1]), w = 7;
+        long sub = counts[(low << 1) + 1];
+        while (w > 0 && (w << 6) - (sub >>> 9 * (w - 1) & 0x1FF) >= remain) {
+            w--;
+        }
+        if (w > 0) {
+            remain -= (w << 6) - (int) (sub >>> 9 * (w - 1) & 0x1FF);
+        }
+        return (low << 9) + (w << 6) + Fast.select(~bits[(low << 3) + w], remain - 1);
+    }
+}
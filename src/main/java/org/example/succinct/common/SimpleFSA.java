@@ -2,10 +2,14 @@ package org.example.succinct.common;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.automaton.ByteRunAutomaton;
 import org.apache.lucene.util.fst.BytesRefFSTEnum;
 import org.apache.lucene.util.fst.FST;
 import org.apache.lucene.util.fst.FSTCompiler;
@@ -43,6 +47,49 @@ public class SimpleFSA implements Accountable {
         return false;
     }
 
+    /**
+     * 与确定性自动机求交：沿 FST 的弧深度优先遍历，自动机进入死状态时剪枝，按字节序返回被接受的键
+     */
+    public List<String> intersect(ByteRunAutomaton automaton) {
+        List<String> result = new ArrayList<>();
+        try {
+            FST.Arc<Object> root = fst.getFirstArc(new FST.Arc<>());
+            if (root.isFinal() && automaton.isAccept(0)) {
+                result.add("");
+            }
+            intersect(root, 0, automaton, fst.getBytesReader(), new BytesRefBuilder(), result);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return result;
+    }
+
+    private void intersect(FST.Arc<Object> arc, int state, ByteRunAutomaton automaton, FST.BytesReader reader,
+                           BytesRefBuilder key, List<String> result) throws IOException {
+        if (!FST.targetHasArcs(arc)) {
+            return;
+        }
+        FST.Arc<Object> child = fst.readFirstTargetArc(arc, new FST.Arc<>(), reader);
+        while (true) {
+            // 目标节点为终止状态时会先读出一条标签为 END_LABEL 的虚拟弧，终止状态已由父节点处理
+            if (child.label() != FST.END_LABEL) {
+                int next = automaton.step(state, child.label());
+                if (next >= 0) {
+                    key.append((byte) child.label());
+                    if (child.isFinal() && automaton.isAccept(next)) {
+                        result.add(key.get().utf8ToString());
+                    }
+                    intersect(child, next, automaton, reader, key, result);
+                    key.setLength(key.length() - 1);
+                }
+            }
+            if (child.isLast()) {
+                return;
+            }
+            fst.readNextArc(child, reader);
+        }
+    }
+
     public BytesRefFSTEnum<Object> iterator() {
         return new BytesRefFSTEnum<>(fst);
     }
@@ -0,0 +1,231 @@
+package org.example.succinct.common;
+
+import org.example.succinct.api.LabelSequence;
+import org.example.succinct.api.RankSelectBitSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Succinct Trie 的二进制文件格式（小端序，各段按 8 字节对齐）</p>
+ * 头部：魔数、版本号、类型、最大键长；其后依次为各个数据段，每段以长度开头。
+ * 位图段保存 {@link MappedRankSelectBitSet} 的交错布局及 select 采样，
+ * 因此映射后可原地查询，无需任何反序列化
+ */
+public final class TrieFormat {
+    public static final int MAGIC = 0x53435452; // "SCTR"
+    public static final int VERSION = 1;
+    public static final int CHAR_TRIE = 1;
+    public static final int BYTE_TRIE = 2;
+
+    private TrieFormat() {
+    }
+
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position = 0;
+
+        public Writer(Path path, int type, int maxLen) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            putInt(MAGIC);
+            putInt(VERSION);
+            putInt(type);
+            putInt(maxLen);
+        }
+
+        public void writeString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (byte b : bytes) {
+                ensure(1);
+                buffer.put(b);
+                position++;
+            }
+            align();
+        }
+
+        public void writeChars(CharBuffer chars) throws IOException {
+            writeChars(LabelSequence.of(chars));
+        }
+
+        public void writeChars(LabelSequence chars) throws IOException {
+            int length = chars.length();
+            putInt(length);
+            align();
+            for (int i = 0; i < length; i++) {
+                ensure(2);
+                buffer.putChar(chars.get(i));
+                position += 2;
+            }
+            align();
+        }
+
+        public void writeBytes(ByteBuffer bytes) throws IOException {
+            int length = bytes.capacity();
+            putInt(length);
+            align();
+            for (int i = 0; i < length; i++) {
+                ensure(1);
+                buffer.put(bytes.get(i));
+                position++;
+            }
+            align();
+        }
+
+        public void writeBitSet(RankSelectBitSet bitSet) throws IOException {
+            int size = bitSet.size();
+            long[] blocks = MappedRankSelectBitSet.layout(MappedRankSelectBitSet.words(bitSet), size);
+            int[] selects1 = MappedRankSelectBitSet.samples(blocks, size, true);
+            int[] selects0 = MappedRankSelectBitSet.samples(blocks, size, false);
+            putInt(size);
+            putInt(MappedRankSelectBitSet.oneCount(blocks));
+            putInt(blocks.length);
+            putInt(selects1.length);
+            putInt(selects0.length);
+            align();
+            for (long block : blocks) {
+                ensure(8);
+                buffer.putLong(block);
+                position += 8;
+            }
+            for (int select : selects1) {
+                putInt(select);
+            }
+            for (int select : selects0) {
+                putInt(select);
+            }
+            align();
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        private void align() throws IOException {
+            while ((position & 7) != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static class Reader {
+        private final ByteBuffer buffer;
+        private final int maxLen;
+
+        /**
+         * 以只读方式映射整个文件，并校验头部
+         *
+         * @param type 期望的 Trie 类型
+         * @throws IllegalArgumentException 文件不是该格式、版本或类型不匹配
+         */
+        public Reader(Path path, int type) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("File too large: " + path);
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a succinct trie file: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported format version: " + version);
+            }
+            int actual = buffer.getInt();
+            if (actual != type) {
+                throw new IllegalArgumentException("Unexpected trie type: " + actual);
+            }
+            maxLen = buffer.getInt();
+        }
+
+        public int maxLen() {
+            return maxLen;
+        }
+
+        public String readString() {
+            int length = buffer.getInt();
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            align();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public CharBuffer readChars() {
+            int length = buffer.getInt();
+            align();
+            CharBuffer chars = slice(length * 2).asCharBuffer();
+            align();
+            return chars;
+        }
+
+        public ByteBuffer readBytes() {
+            int length = buffer.getInt();
+            align();
+            ByteBuffer bytes = slice(length);
+            align();
+            return bytes;
+        }
+
+        public MappedRankSelectBitSet readBitSet() {
+            int size = buffer.getInt(), oneCount = buffer.getInt();
+            int blockCount = buffer.getInt(), select1Count = buffer.getInt(), select0Count = buffer.getInt();
+            align();
+            MappedRankSelectBitSet bitSet = new MappedRankSelectBitSet(
+                    slice(blockCount * 8).asLongBuffer(),
+                    slice(select1Count * 4).asIntBuffer(),
+                    slice(select0Count * 4).asIntBuffer(),
+                    size, oneCount);
+            align();
+            return bitSet;
+        }
+
+        private ByteBuffer slice(int length) {
+            ByteBuffer slice = buffer.slice(buffer.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(buffer.position() + length);
+            return slice;
+        }
+
+        private void align() {
+            buffer.position(buffer.position() + 7 & ~7);
+        }
+    }
+}
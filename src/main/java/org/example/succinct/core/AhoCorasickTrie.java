@@ -0,0 +1,128 @@
+package org.example.succinct.core;
+
+import it.unimi.dsi.bits.LongArrayBitVector;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongBigList;
+import org.example.succinct.api.MatchVisitor;
+
+/**
+ * <p>多模式匹配（Aho-Corasick）：基于 {@link CharSuccinctTrie2}，一遍扫描找出文本中所有键的出现</p>
+ * 自动机的状态即 Trie 的节点 ID（BFS 顺序），失配链接、输出链接（失配链上最近的叶子节点）与节点深度
+ * 按节点 ID 定宽位压缩存放。压缩链上的节点同样是状态：链中间的节点只能转移到链上的下一个节点，
+ * 这类节点单独用一个位图标记。空串不作为命中报告
+ */
+public class AhoCorasickTrie {
+    private final CharSuccinctTrie2 trie;
+    private final LongBigList fail;
+    // 存放节点 ID + 1，0 表示失配链上没有叶子节点
+    private final LongBigList output;
+    private final LongBigList depth;
+    private final LongArrayBitVector chain;
+
+    public static AhoCorasickTrie of(String... keys) {
+        return new AhoCorasickTrie(CharSuccinctTrie2.of(keys));
+    }
+
+    /**
+     * 按 BFS 的深度顺序计算失配链接，每个节点的失配目标深度更小，因此总是先于它完成计算
+     */
+    public AhoCorasickTrie(CharSuccinctTrie2 trie) {
+        int n = trie.nodeCount(), width = Math.max(1, 32 - Integer.numberOfLeadingZeros(n));
+        this.trie = trie;
+        this.fail = list(n, width);
+        this.output = list(n, width);
+        this.chain = LongArrayBitVector.getInstance(n);
+        chain.length(n);
+        int[] depths = new int[n];
+        IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+        queue.enqueue(0);
+        while (!queue.isEmpty()) {
+            int parent = queue.dequeueInt(), from, to;
+            if (chain.getBoolean(parent)) {
+                from = parent + 1;
+                to = parent + 2;
+            } else {
+                from = trie.firstChild(parent);
+                to = trie.childEnd(parent);
+                if (trie.isCompressNode(parent)) {
+                    // 只有链尾节点不受限制
+                    for (int i = from; i < to - 1; i++) {
+                        chain.set(i);
+                    }
+                    to = from + 1;
+                }
+            }
+            for (int nodeId = from; nodeId < to; nodeId++) {
+                int target = 0;
+                if (parent > 0) {
+                    char c = trie.label(nodeId);
+                    int state = (int) fail.getLong(parent);
+                    while ((target = step(state, c)) < 0 && state > 0) {
+                        state = (int) fail.getLong(state);
+                    }
+                    target = Math.max(target, 0);
+                }
+                fail.set(nodeId, target);
+                output.set(nodeId, target > 0 && trie.isLeafNode(target) ? target + 1 : output.getLong(target));
+                depths[nodeId] = depths[parent] + 1;
+                queue.enqueue(nodeId);
+            }
+        }
+        int maxDepth = 0;
+        for (int d : depths) {
+            maxDepth = Math.max(maxDepth, d);
+        }
+        this.depth = list(n, Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth)));
+        for (int i = 0; i < n; i++) {
+            depth.set(i, depths[i]);
+        }
+    }
+
+    private static LongBigList list(int size, int width) {
+        LongBigList list = LongArrayBitVector.getInstance((long) size * width).asLongBigList(width);
+        list.size(size);
+        return list;
+    }
+
+    public CharSuccinctTrie2 trie() {
+        return trie;
+    }
+
+    /**
+     * 按结束位置从前到后报告 text 中所有键的出现，结束位置相同时先报告较长的键
+     *
+     * @return 报告的命中数
+     */
+    public int scan(CharSequence text, MatchVisitor visitor) {
+        int state = 0, count = 0;
+        for (int pos = 0, length = text.length(); pos < length; pos++) {
+            char c = text.charAt(pos);
+            int next;
+            while ((next = step(state, c)) < 0 && state > 0) {
+                state = (int) fail.getLong(state);
+            }
+            state = Math.max(next, 0);
+            int nodeId = trie.isLeafNode(state) && state > 0 ? state : (int) output.getLong(state) - 1;
+            while (nodeId > 0) {
+                count++;
+                if (!visitor.visit(pos + 1 - (int) depth.getLong(nodeId), pos + 1, nodeId)) {
+                    return count;
+                }
+                nodeId = (int) output.getLong(nodeId) - 1;
+            }
+        }
+        return count;
+    }
+
+    private int step(int state, char c) {
+        if (chain.getBoolean(state)) {
+            return trie.label(state + 1) == c ? state + 1 : -1;
+        }
+        return trie.child(state, c);
+    }
+
+    @Override
+    public String toString() {
+        return "AhoCorasickTrie[" + trie + "]";
+    }
+}
@@ -1,60 +1,118 @@
 package org.example.succinct.core;
 
 import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.ByteRunAutomaton;
+import org.example.succinct.api.KeyCodec;
+import org.example.succinct.api.KeyVisitor;
 import org.example.succinct.api.RankSelectBitSet;
 import org.example.succinct.api.SuccinctTrie;
 import org.example.succinct.common.Range;
-import org.example.succinct.common.RankSelectBitSet4;
-import org.example.succinct.utils.StringEncoder;
+import org.example.succinct.common.RankSelectBitSet5;
+import org.example.succinct.common.TrieFormat;
+import org.example.succinct.utils.AlphabetCodec;
+import org.example.succinct.utils.UniqueSort;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 public class ByteSuccinctTrie2 implements SuccinctTrie {
-    private final byte[] labels;
+    private final ByteBuffer labels;
     private final RankSelectBitSet labelBitmap;
     private final RankSelectBitSet isLeaf;
     private final RankSelectBitSet isCompress;
-    private final StringEncoder encoder;
-    private final ByteBuffer buffer;
+    private final KeyCodec codec;
+    private final int maxLen;
+    // 每个线程持有独立的编码缓冲区，容量足以容纳最长的键
+    private final ThreadLocal<ByteBuffer> buffers;
 
     public static ByteSuccinctTrie2 of(String... keys) {
         return ByteSuccinctTrie2.of(keys, Charset.forName("GB18030"));
     }
 
+    /**
+     * 字符集对应的编解码器参见 {@link KeyCodec#of(Charset)}
+     */
     public static ByteSuccinctTrie2 of(String[] keys, Charset charset) {
-        StringEncoder encoder = new StringEncoder(charset);
-        byte[][] keyBytes = Arrays.stream(keys).map(encoder::getBytesSafely).toArray(byte[][]::new);
-        // 按字节数组字典序排序
-        Arrays.sort(keyBytes, (a, b) -> {
-            int minLen = Math.min(a.length, b.length);
-            for (int i = 0; i < minLen; i++) {
-                int cmp = Byte.compare(a[i], b[i]);
-                if (cmp != 0) {
-                    return cmp;
-                }
-            }
-            return a.length - b.length;
-        });
-        ByteArrayList byteLabels = new ByteArrayList();
-        // RankSelectBitSet4 的实际表现要比 RankSelectBitSet3 慢，需要排查原因
-        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isCompressBuilder = new RankSelectBitSet4.Builder();
+        return of(keys, KeyCodec.of(charset));
+    }
 
+    /**
+     * 按键集统计字符频率的编码参见 {@link AlphabetCodec#of(String[], boolean)}
+     *
+     * @throws IllegalArgumentException 有键无法由 codec 无损编码，参见 {@link KeyCodec#encodeKey}
+     */
+    public static ByteSuccinctTrie2 of(String[] keys, KeyCodec codec) {
+        byte[][] keyBytes = UniqueSort.unique(encode(keys, codec));
+        LoudsWriter writer = new LoudsWriter(keyBytes);
         Queue<Range> queue = new ArrayDeque<>();
-        queue.add(new Range(0, keys.length, 0));
-        for (int bitPos = 0, nodeId = 0; !queue.isEmpty(); nodeId++) {
-            Range range = queue.poll();
+        queue.add(new Range(0, keyBytes.length, 0));
+        while (!queue.isEmpty()) {
+            writer.write(queue.poll(), queue);
+        }
+        return writer.build(codec, maxLen(keys));
+    }
+
+    /**
+     * 并行构建：排序与各子树的编码在给定线程池中执行，产出与 {@link #of(String[], Charset)} 逐位一致的布局，
+     * 参见 {@link ParallelBuild}
+     */
+    public static ByteSuccinctTrie2 of(String[] keys, Charset charset, ForkJoinPool pool) {
+        KeyCodec codec = KeyCodec.of(charset);
+        byte[][] keyBytes = UniqueSort.unique(encode(keys, codec), pool);
+        return ParallelBuild.build(keyBytes.length, () -> new LoudsWriter(keyBytes), pool)
+                .build(codec, maxLen(keys));
+    }
+
+    private static byte[][] encode(String[] keys, KeyCodec codec) {
+        byte[][] keyBytes = new byte[keys.length][];
+        byte[] buffer = new byte[16];
+        for (int i = 0; i < keys.length; i++) {
+            int maxBytes = codec.maxBytes(keys[i].length());
+            if (buffer.length < maxBytes) {
+                buffer = new byte[Math.max(maxBytes, buffer.length << 1)];
+            }
+            keyBytes[i] = Arrays.copyOf(buffer, codec.encodeKey(keys[i], buffer, 0));
+        }
+        return keyBytes;
+    }
+
+    private static int maxLen(String[] keys) {
+        return Arrays.stream(keys).mapToInt(String::length).max().orElse(0);
+    }
+
+    /**
+     * 单个节点在 LOUDS 中的编码：是否为叶子、是否为压缩节点、子节点标签及位图
+     */
+    private static final class LoudsWriter implements ParallelBuild.Writer<LoudsWriter> {
+        private final byte[][] keyBytes;
+        private final ByteArrayList byteLabels = new ByteArrayList();
+        // RankSelectBitSet4 的 select1 在 Rank9 目录上二分查找，下降路径比 RankSelectBitSet5 的采样加逐字扫描慢约 20%（RankSelectBenchmark）
+        private final RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet5.Builder();
+        private final RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet5.Builder();
+        private final RankSelectBitSet.Builder isCompressBuilder = new RankSelectBitSet5.Builder();
+
+        LoudsWriter(byte[][] keyBytes) {
+            this.keyBytes = keyBytes;
+        }
+
+        @Override
+        public void write(Range range, Queue<Range> queue) {
             int L = range.L(), R = range.R(), index = range.index();
             // 检查当前节点是否是叶子节点并跳过重复字符串（最短的一定是第一个）
-            if (keyBytes[L].length == index) {
-                isLeafBuilder.set(nodeId, true);
+            boolean isLeafNode = keyBytes[L].length == index, compress = false;
+            isLeafBuilder.append(isLeafNode);
+            if (isLeafNode) {
                 while (++L < R && keyBytes[L].length == index);
             }
             if (L < R) {
@@ -64,7 +122,7 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                 if (i == R) {
                     i = L;
                     byteLabels.add(b);
-                    int pos = ++bitPos;
+                    labelBitmapBuilder.append(false);
                     while (true) {
                         int before = i;
                         if (keyBytes[i].length == ++index) {
@@ -85,10 +143,10 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                         }
                         queue.add(new Range(before, before, index));
                         byteLabels.add(b);
-                        bitPos++;
+                        labelBitmapBuilder.append(false);
+                        compress = true;
                         i = start;
                     }
-                    isCompressBuilder.set(nodeId, bitPos - pos > 0);
                 } else {
                     // 处理多个子节点
                     int start = L;
@@ -96,30 +154,84 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                         int end = start;
                         b = keyBytes[start][index];
                         while (++end < R && keyBytes[end][index] == b);
-                        bitPos++; // 设置子节点标记(0)
+                        labelBitmapBuilder.append(false); // 设置子节点标记(0)
                         byteLabels.add(b); // 添加子节点标签
                         queue.add(new Range(start, end, index + 1)); // 将子节点范围加入队列
                         start = end;
                     }
                 }
             }
-            labelBitmapBuilder.set(bitPos++, true); // 设置节点结束标记(1)
+            isCompressBuilder.append(compress);
+            labelBitmapBuilder.appendOne(); // 设置节点结束标记(1)
+        }
+
+        @Override
+        public void append(LoudsWriter other) {
+            byteLabels.addAll(other.byteLabels);
+            labelBitmapBuilder.append(other.labelBitmapBuilder);
+            isLeafBuilder.append(other.isLeafBuilder);
+            isCompressBuilder.append(other.isCompressBuilder);
+        }
+
+        ByteSuccinctTrie2 build(KeyCodec codec, int maxLen) {
+            return new ByteSuccinctTrie2(
+                    ByteBuffer.wrap(byteLabels.toByteArray()),
+                    labelBitmapBuilder.build(true),
+                    isLeafBuilder.build(true),
+                    isCompressBuilder.build(false),
+                    codec, maxLen);
         }
-        return new ByteSuccinctTrie2(
-                byteLabels.toByteArray(),
-                labelBitmapBuilder.build(true),
-                isLeafBuilder.build(false),
-                isCompressBuilder.build(false),
-                encoder);
     }
 
-    private ByteSuccinctTrie2(byte[] labels, RankSelectBitSet labelBitmap, RankSelectBitSet isLeaf, RankSelectBitSet isCompress, StringEncoder encoder) {
+    /**
+     * 以只读方式映射由 {@link #save(Path)} 写出的文件，所有结构均在映射区内原地查询
+     *
+     * @throws IllegalArgumentException 文件格式或版本不匹配
+     */
+    public static ByteSuccinctTrie2 open(Path path) {
+        try {
+            TrieFormat.Reader reader = new TrieFormat.Reader(path, TrieFormat.BYTE_TRIE);
+            String name = reader.readString();
+            KeyCodec codec = AlphabetCodec.NAME.equals(name)
+                    ? new AlphabetCodec(chars(reader.readChars()), chars(reader.readChars()))
+                    : KeyCodec.of(Charset.forName(name));
+            return new ByteSuccinctTrie2(reader.readBytes(), reader.readBitSet(), reader.readBitSet(),
+                    reader.readBitSet(), codec, reader.maxLen());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void save(Path path) {
+        try (TrieFormat.Writer writer = new TrieFormat.Writer(path, TrieFormat.BYTE_TRIE, maxLen)) {
+            writer.writeString(codec.name());
+            if (codec instanceof AlphabetCodec alphabet) {
+                writer.writeChars(CharBuffer.wrap(alphabet.symbols()));
+                writer.writeChars(CharBuffer.wrap(alphabet.widths()));
+            }
+            writer.writeBytes(labels);
+            writer.writeBitSet(labelBitmap);
+            writer.writeBitSet(isLeaf);
+            writer.writeBitSet(isCompress);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static char[] chars(CharBuffer buffer) {
+        char[] chars = new char[buffer.capacity()];
+        buffer.get(0, chars);
+        return chars;
+    }
+
+    private ByteSuccinctTrie2(ByteBuffer labels, RankSelectBitSet labelBitmap, RankSelectBitSet isLeaf, RankSelectBitSet isCompress, KeyCodec codec, int maxLen) {
         this.labels = labels;
         this.labelBitmap = labelBitmap;
         this.isLeaf = isLeaf;
         this.isCompress = isCompress;
-        this.encoder = encoder;
-        this.buffer = encoder.byteBuffer();
+        this.codec = codec;
+        this.maxLen = maxLen;
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(Math.max(codec.maxBytes(maxLen), 1)));
     }
 
     @Override
@@ -132,6 +244,15 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
         return isLeaf.size();
     }
 
+    /**
+     * 叶子节点在所有叶子中的序号（按节点 ID 顺序，从 0 开始），用于将键映射到稠密下标
+     *
+     * @param nodeId 叶子节点 ID，即 {@link #index(String)} 的返回值
+     */
+    int leafRank(int nodeId) {
+        return isLeaf.rank1(nodeId) - 1;
+    }
+
     @Override
     public boolean contains(String key) {
         return index(key) >= 0;
@@ -143,23 +264,48 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
         return nodeId >= 0 && isLeaf.get(nodeId) ? nodeId : -1;
     }
 
+    /**
+     * 直接在原始字节上查找，不经过字符串编码
+     *
+     * @return 键对应的叶子节点 ID，不存在时返回 -1
+     */
+    public int index(byte[] key, int off, int len) {
+        return index(ByteBuffer.wrap(key, off, len));
+    }
+
+    /**
+     * 直接在 {@code key} 的 [position, limit) 上查找，不修改其位置，可用于堆外缓冲区
+     *
+     * @return 键对应的叶子节点 ID，不存在时返回 -1
+     */
+    public int index(ByteBuffer key) {
+        int nodeId = extract(key);
+        return nodeId >= 0 && isLeaf.get(nodeId) ? nodeId : -1;
+    }
+
     private int extract(String key) {
-        if (!encoder.checkByteCapacity(key)) {
+        if (key.length() > maxLen) {
             return -1;
         }
-        ByteBuffer buffer = encoder.encodeToBuffer(key);
+        ByteBuffer buffer = buffers.get();
+        return extract(buffer.clear().limit(codec.encode(key, buffer.array(), 0)));
+    }
+
+    private int extract(ByteBuffer key) {
+        int start = key.position(), end = key.limit(), pos = start;
         int nodeId = 0, bitmapIndex = 0;
-        while (buffer.hasRemaining() && bitmapIndex >= 0) {
+        while (pos < end && bitmapIndex >= 0) {
             if (isCompress.get(nodeId)) {
-                while (!labelBitmap.get(bitmapIndex) && buffer.hasRemaining()) {
-                    if (labels[bitmapIndex++ - nodeId] != buffer.get()) {
+                while (!labelBitmap.get(bitmapIndex) && pos < end) {
+                    if (labels.get(bitmapIndex++ - nodeId) != key.get(pos++)) {
                         bitmapIndex = 0;
                         break;
                     }
                 }
                 bitmapIndex--;
             } else {
-                bitmapIndex = labelSearch(nodeId, bitmapIndex, buffer.get(), buffer.position() <= 3);
+                byte b = key.get(pos++);
+                bitmapIndex = labelSearch(nodeId, bitmapIndex, b, pos - start <= 3);
             }
             if (bitmapIndex >= 0) {
                 nodeId = bitmapIndex + 1 - nodeId;
@@ -171,28 +317,62 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
 
     @Override
     public String get(int nodeId) {
-        String s = null;
         if (isLeaf.get(nodeId)) {
-            int length = 0, cap = buffer.clear().capacity(), bitmapIndex;
-            while ((bitmapIndex = labelBitmap.select0(nodeId)) >= 0) {
-                nodeId = bitmapIndex + 1 - nodeId;
-                if (isCompress.get(nodeId)) {
-                    do {
-                        buffer.put(cap - ++length, labels[bitmapIndex - nodeId]);
-                    } while (!labelBitmap.get(--bitmapIndex));
-                } else {
-                    buffer.put(cap - ++length, labels[bitmapIndex - nodeId]);
-                }
+            ByteBuffer buffer = buffers.get();
+            int length = putKey(nodeId, buffer), cap = buffer.capacity();
+            return codec.decode(buffer.array(), cap - length, length);
+        }
+        return null;
+    }
+
+    /**
+     * 将叶子节点对应键的原始字节写入 {@code out} 的当前位置并前移 position，不做解码
+     *
+     * @return 写入的字节数，nodeId 不是叶子节点时返回 -1
+     * @throws java.nio.BufferOverflowException {@code out} 的剩余空间不足
+     */
+    public int get(int nodeId, ByteBuffer out) {
+        if (isLeaf.get(nodeId)) {
+            ByteBuffer buffer = buffers.get();
+            int length = putKey(nodeId, buffer), cap = buffer.capacity();
+            out.put(buffer.array(), cap - length, length);
+            return length;
+        }
+        return -1;
+    }
+
+    /**
+     * 参见 {@link #get(int, ByteBuffer)}
+     */
+    public int get(int nodeId, byte[] out, int off) {
+        return get(nodeId, ByteBuffer.wrap(out, off, out.length - off));
+    }
+
+    /**
+     * 自底向上将键的字节写入 buffer 的末尾
+     *
+     * @return 键的字节数，键位于 [capacity - length, capacity)
+     */
+    private int putKey(int nodeId, ByteBuffer buffer) {
+        int length = 0, cap = buffer.clear().capacity(), bitmapIndex;
+        while ((bitmapIndex = labelBitmap.select0(nodeId)) >= 0) {
+            nodeId = bitmapIndex + 1 - nodeId;
+            if (isCompress.get(nodeId)) {
+                // 根节点的子节点从位图起点开始，前面没有结束标记
+                do {
+                    buffer.put(cap - ++length, labels.get(bitmapIndex - nodeId));
+                } while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex));
+            } else {
+                buffer.put(cap - ++length, labels.get(bitmapIndex - nodeId));
             }
-            s = new String(buffer.array(), cap - length, length, encoder.charset());
         }
-        return s;
+        return length;
     }
 
     @Override
     public Iterator<String> prefixKeysOf(String str) {
-        return str.length() > buffer.capacity() ? Collections.emptyIterator() : new TermIterator() {
-            private final byte[] bytes = encoder.getBytes(str);
+        return new TermIterator() {
+            private final byte[] bytes = codec.encode(str);
             private int pos = 0;
             private int nodeId = 0;
             private int bitmapIndex = 0;
@@ -209,7 +389,7 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                     if (isCompress.get(nodeId)) {
                         while (!labelBitmap.get(bitmapIndex) && pos < bytes.length) {
                             int labelIndex = bitmapIndex++ - nodeId;
-                            if (labels[labelIndex] != bytes[pos]) {
+                            if (labels.get(labelIndex) != bytes[pos]) {
                                 bitmapIndex = 0;
                                 break;
                             } else {
@@ -218,7 +398,7 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                                     if (labelBitmap.get(bitmapIndex)) {
                                         break;
                                     }
-                                    next = new String(bytes, 0, pos, encoder.charset());
+                                    next = codec.decode(bytes, 0, pos);
                                     return;
                                 }
                             }
@@ -231,7 +411,7 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
                         nodeId = bitmapIndex + 1 - nodeId;
                         bitmapIndex = labelBitmap.select1(nodeId) + 1;
                         if (isLeaf.get(nodeId)) {
-                            next = new String(bytes, 0, pos, encoder.charset());
+                            next = codec.decode(bytes, 0, pos);
                             return;
                         }
                     }
@@ -269,71 +449,193 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
         return dfs(extract(prefix), prefix);
     }
 
-    private Iterator<String> dfs(int rootId, String prefix) {
-        Charset charset = encoder.charset();
-        return rootId < 0 ? Collections.emptyIterator() : new TermIterator() {
-            private final ByteBuffer byteBuffer = ByteBuffer.allocate(buffer.capacity());
-            private int nodeId = rootId;
-            private int bitmapIndex = labelBitmap.select1(rootId) + 1;
+    @Override
+    public int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        String str = prefix.toString();
+        int rootId = extract(str), count = 0;
+        if (rootId >= 0) {
+            Cursor cursor = new Cursor(rootId, str);
+            // 解码到复用的字符缓冲区，字符数不超过字节数
+            char[] chars = new char[cursor.byteBuffer.capacity()];
+            while (cursor.next()) {
+                int length = codec.decode(cursor.byteBuffer.array(), 0, cursor.byteBuffer.limit(), chars, 0);
+                count++;
+                if (!visitor.visit(chars, length)) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
 
-            {
-                byteBuffer.put(encoder.getBytes(prefix)).flip();
-                int parentIndex = labelBitmap.select0(nodeId) + 1, parentId = parentIndex - nodeId;
-                if (isCompress.get(parentId) && !labelBitmap.get(parentIndex)) {
-                    nodeId = parentId;
-                    bitmapIndex = parentIndex;
+    /**
+     * UTF-8 编码时在字节层面与自动机求交，只沿自动机仍存活的边下降；其他字符集逐个检查键。
+     * 顺序与 {@link #iterator(boolean) iterator(true)} 一致，即按字节排序
+     */
+    @Override
+    public Iterator<String> intersect(Automaton automaton) {
+        if (!StandardCharsets.UTF_8.equals(codec.charset())) {
+            return SuccinctTrie.super.intersect(automaton);
+        }
+        return new AutomatonIterator(new ByteRunAutomaton(automaton));
+    }
+
+    /**
+     * 以显式栈深度优先遍历，每一帧是一个节点尚未访问的子节点区间 [index, end)；
+     * 压缩节点的帧依次延长同一条路径，其第 i 个标签位于深度 {@code depth + i - start}
+     */
+    private final class AutomatonIterator extends TermIterator {
+        private final ByteRunAutomaton automaton;
+        private final byte[] key = new byte[buffers.get().capacity()];
+        // states[d] 为消费前 d 个字节后的状态
+        private final int[] states = new int[key.length + 1];
+        private final int[] nodes = new int[key.length + 1], starts = new int[key.length + 1];
+        private final int[] indexes = new int[key.length + 1], ends = new int[key.length + 1], depths = new int[key.length + 1];
+        private int top = -1;
+
+        private AutomatonIterator(ByteRunAutomaton automaton) {
+            this.automaton = automaton;
+            push(0, 0);
+            if (!isLeaf.get(0) || !automaton.isAccept(0)) {
+                advance();
+            }
+        }
+
+        private void push(int nodeId, int depth) {
+            int start = labelBitmap.select1(nodeId) + 1, end = labelBitmap.select1(nodeId + 1);
+            if (start < end) {
+                top++;
+                nodes[top] = nodeId;
+                starts[top] = indexes[top] = start;
+                ends[top] = end;
+                depths[top] = depth;
+            }
+        }
+
+        @Override
+        protected void advance() {
+            while (top >= 0) {
+                int nodeId = nodes[top], i = indexes[top]++, end = ends[top];
+                boolean compress = isCompress.get(nodeId);
+                int depth = compress ? depths[top] + i - starts[top] : depths[top];
+                if (i + 1 >= end) {
+                    top--;
                 }
-                if (isLeaf.get(rootId)) {
-                    next = charset.decode(byteBuffer.flip()).toString();
-                } else {
-                    advance();
+                key[depth] = labels.get(i - nodeId);
+                int state = automaton.step(states[depth], key[depth] & 0xFF);
+                if (state < 0) {
+                    // 压缩链后续的节点都经过这条边
+                    if (compress && i + 1 < end) {
+                        top--;
+                    }
+                    continue;
+                }
+                states[depth + 1] = state;
+                int child = i + 1 - nodeId;
+                // 压缩链中只有链尾节点有子节点
+                if (!compress || i + 1 == end) {
+                    push(child, depth + 1);
+                }
+                if (isLeaf.get(child) && automaton.isAccept(state)) {
+                    next = codec.decode(key, 0, depth + 1);
+                    return;
                 }
             }
+            next = null;
+        }
+    }
+
+    private Iterator<String> dfs(int rootId, String prefix) {
+        if (rootId < 0) {
+            return Collections.emptyIterator();
+        }
+        Cursor cursor = new Cursor(rootId, prefix);
+        return new TermIterator() {
+            {
+                advance();
+            }
 
             @Override
             protected void advance() {
-                // 切换写模式
-                byteBuffer.position(byteBuffer.limit()).limit(byteBuffer.capacity());
-                while (true) {
-                    // 撞墙
-                    while (labelBitmap.get(bitmapIndex) || bitmapIndex < 0) {
-                        // 到达根节点，遍历结束
-                        if (nodeId <= rootId) {
-                            next = null;
-                            return;
-                        }
-                        // 回溯并向右转移
-                        bitmapIndex = labelBitmap.select0(nodeId) + 1;
-                        nodeId = bitmapIndex - nodeId;
-                        if (isCompress.get(nodeId)) {
-                            int pos = byteBuffer.position();
-                            while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex)) pos--;
-                            byteBuffer.position(pos);
-                        } else {
-                            byteBuffer.position(byteBuffer.position() - 1);
-                        }
+                next = cursor.next() ? codec.decode(cursor.byteBuffer.array(), 0, cursor.byteBuffer.limit()) : null;
+            }
+        };
+    }
+
+    /**
+     * 按标签顺序深度优先遍历以 rootId 为根的子树，当前键的字节位于复用的 {@code byteBuffer} 的 [0, limit) 中
+     */
+    private final class Cursor {
+        private final ByteBuffer byteBuffer = ByteBuffer.allocate(buffers.get().capacity());
+        private final int rootId;
+        private int nodeId;
+        private int bitmapIndex;
+        private boolean started;
+
+        private Cursor(int rootId, String prefix) {
+            this.rootId = rootId;
+            this.nodeId = rootId;
+            this.bitmapIndex = labelBitmap.select1(rootId) + 1;
+            byteBuffer.limit(codec.encode(prefix, byteBuffer.array(), 0));
+            int parentIndex = labelBitmap.select0(nodeId) + 1, parentId = parentIndex - nodeId;
+            if (isCompress.get(parentId) && !labelBitmap.get(parentIndex)) {
+                nodeId = parentId;
+                bitmapIndex = parentIndex;
+            }
+        }
+
+        /**
+         * 移动到下一个键
+         *
+         * @return 是否还有键
+         */
+        private boolean next() {
+            if (!started) {
+                started = true;
+                if (isLeaf.get(rootId)) {
+                    return true;
+                }
+            }
+            // 切换写模式
+            byteBuffer.position(byteBuffer.limit()).limit(byteBuffer.capacity());
+            while (true) {
+                // 撞墙
+                while (labelBitmap.get(bitmapIndex) || bitmapIndex < 0) {
+                    // 到达根节点，遍历结束
+                    if (nodeId <= rootId) {
+                        return false;
                     }
-                    // 向下转移
+                    // 回溯并向右转移
+                    bitmapIndex = labelBitmap.select0(nodeId) + 1;
+                    nodeId = bitmapIndex - nodeId;
                     if (isCompress.get(nodeId)) {
-                        while (!labelBitmap.get(bitmapIndex + 1)) {
-                            int labelIndex = bitmapIndex++ - nodeId;
-                            byteBuffer.put(labels[labelIndex]);
-                            if (isLeaf.get(labelIndex + 1)) {
-                                next = charset.decode(byteBuffer.flip()).toString();
-                                return;
-                            }
-                        }
+                        int pos = byteBuffer.position();
+                        while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex)) pos--;
+                        byteBuffer.position(pos);
+                    } else {
+                        byteBuffer.position(byteBuffer.position() - 1);
                     }
-                    nodeId = bitmapIndex + 1 - nodeId;
-                    bitmapIndex = labelBitmap.select1(nodeId) + 1;
-                    byteBuffer.put(labels[nodeId - 1]);
-                    if (isLeaf.get(nodeId)) {
-                        next = charset.decode(byteBuffer.flip()).toString();
-                        return;
+                }
+                // 向下转移
+                if (isCompress.get(nodeId)) {
+                    while (!labelBitmap.get(bitmapIndex + 1)) {
+                        int labelIndex = bitmapIndex++ - nodeId;
+                        byteBuffer.put(labels.get(labelIndex));
+                        if (isLeaf.get(labelIndex + 1)) {
+                            byteBuffer.flip();
+                            return true;
+                        }
                     }
                 }
+                nodeId = bitmapIndex + 1 - nodeId;
+                bitmapIndex = labelBitmap.select1(nodeId) + 1;
+                byteBuffer.put(labels.get(nodeId - 1));
+                if (isLeaf.get(nodeId)) {
+                    byteBuffer.flip();
+                    return true;
+                }
             }
-        };
+        }
     }
 
     /**
@@ -351,12 +653,23 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
             if (labelBitmap.get(high)) {
                 return -1;
             }
-            int index = Arrays.binarySearch(labels, bitmapIndex - nodeId, high - nodeId + 1, b);
-            return index < 0 ? -1 : index + nodeId;
+            int low = bitmapIndex - nodeId, top = high - nodeId;
+            while (low <= top) {
+                int mid = low + top >>> 1;
+                byte label = labels.get(mid);
+                if (label < b) {
+                    low = mid + 1;
+                } else if (label > b) {
+                    top = mid - 1;
+                } else {
+                    return mid + nodeId;
+                }
+            }
+            return -1;
         } else {
             while (!labelBitmap.get(bitmapIndex)) {
                 int labelIndex = bitmapIndex - nodeId;
-                if (labels[labelIndex] == b) {
+                if (labels.get(labelIndex) == b) {
                     return bitmapIndex;
                 }
                 bitmapIndex++;
@@ -367,7 +680,7 @@ public class ByteSuccinctTrie2 implements SuccinctTrie {
 
     @Override
     public String toString() {
-        return String.format("ByteSuccinctTrie(%s)[%d labels, %d bits]", encoder.charset(), labels.length,
+        return String.format("ByteSuccinctTrie(%s)[%d labels, %d bits]", codec.name(), labels.capacity(),
                 labelBitmap.size());
     }
 }
\ No newline at end of file
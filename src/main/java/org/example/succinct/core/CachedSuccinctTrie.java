@@ -0,0 +1,226 @@
+package org.example.succinct.core;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.apache.lucene.util.automaton.Automaton;
+import org.example.succinct.api.KeyVisitor;
+import org.example.succinct.api.SuccinctTrie;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>热点查询缓存：在任意 {@link SuccinctTrie} 之前缓存 {@link #index(String)} 的结果（包括不存在的 -1）</p>
+ * 缓存是定长的组相联哈希表，每组 {@value #WAYS} 路，每路存放一个不可变的 (键, 节点 ID) 项，
+ * 以原子引用数组发布，读写均无锁，读到的项总是完整的。准入策略仿照 W-TinyLFU：
+ * 每组的第 0 路是窗口，新查询的键总是进入窗口；被挤出窗口的键只有在估计频率高于组内
+ * 主区频率最低的项时才替换它。频率由 4 位计数的 Count-Min Sketch 估计，累计访问数达到容量的 10 倍时
+ * 所有计数减半以淘汰过时的热度。每次未命中都计数，命中只按 1/{@value #HIT_SAMPLE} 的概率抽样计数，
+ * 热点键的查询因此几乎不写共享的 Sketch，多线程命中时不会在同几个缓存行上来回争用。
+ * Sketch 的并发更新不加同步，丢失的更新只影响准入的准确度，不影响结果的正确性
+ */
+public class CachedSuccinctTrie implements SuccinctTrie {
+    private static final int WAYS = 4;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int HIT_SAMPLE = 16;
+
+    private final SuccinctTrie trie;
+    private final AtomicReferenceArray<Entry> table;
+    private final int bucketMask;
+    private final long[] sketch;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity 最多缓存的键数，向上取整为 {@value #WAYS} 的 2 的幂倍
+     * @throws IllegalArgumentException capacity 不是正数
+     */
+    public CachedSuccinctTrie(SuccinctTrie trie, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS) * 2 - 1);
+        this.trie = trie;
+        this.table = new AtomicReferenceArray<>(buckets * WAYS);
+        this.bucketMask = buckets - 1;
+        // 每个 long 存放 16 个 4 位计数，计数个数约为容量的 4 倍
+        this.sketch = new long[Math.max(1, buckets * WAYS / 4)];
+        this.counterMask = sketch.length * 16 - 1;
+        this.sampleSize = buckets * WAYS * 10;
+    }
+
+    public SuccinctTrie trie() {
+        return trie;
+    }
+
+    @Override
+    public int index(String key) {
+        int hash = HashCommon.mix(key.hashCode());
+        int base = (hash & bucketMask) * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = table.getAcquire(i);
+            if (entry != null && entry.hash == hash && entry.key.equals(key)) {
+                hits.increment();
+                if ((ThreadLocalRandom.current().nextInt() & HIT_SAMPLE - 1) == 0) {
+                    increment(hash);
+                }
+                return entry.nodeId;
+            }
+        }
+        misses.increment();
+        increment(hash);
+        int nodeId = trie.index(key);
+        admit(base, new Entry(key, hash, nodeId));
+        return nodeId;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return index(key) >= 0;
+    }
+
+    /**
+     * 新项进入窗口，被挤出的项与主区中频率最低的项比较频率，较高者留下
+     */
+    private void admit(int base, Entry entry) {
+        Entry candidate = table.getAndSet(base, entry);
+        if (candidate == null) {
+            return;
+        }
+        int victim = -1, victimFrequency = Integer.MAX_VALUE;
+        for (int i = base + 1; i < base + WAYS; i++) {
+            Entry resident = table.getAcquire(i);
+            if (resident == null) {
+                table.setRelease(i, candidate);
+                return;
+            }
+            int frequency = frequency(resident.hash);
+            if (frequency < victimFrequency) {
+                victim = i;
+                victimFrequency = frequency;
+            }
+        }
+        if (frequency(candidate.hash) > victimFrequency) {
+            table.setRelease(victim, candidate);
+        }
+    }
+
+    private int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int counter = counter(hash, i);
+            frequency = Math.min(frequency, (int) (sketch[counter >>> 4] >>> ((counter & 15) << 2)) & 15);
+        }
+        return frequency;
+    }
+
+    private void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int counter = counter(hash, i), shift = (counter & 15) << 2;
+            long word = sketch[counter >>> 4];
+            if ((word >>> shift & 15) != 15) {
+                sketch[counter >>> 4] = word + (1L << shift);
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 所有计数减半
+     */
+    private void reset() {
+        for (int i = 0; i < sketch.length; i++) {
+            sketch[i] = sketch[i] >>> 1 & RESET_MASK;
+        }
+        additions = sampleSize >>> 1;
+    }
+
+    /**
+     * 第 i 个哈希函数选中的计数下标
+     */
+    private int counter(int hash, int i) {
+        return HashCommon.mix(hash + i * 0x9E3779B9) & counterMask;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 命中次数占查询次数的比例，尚无查询时为 0
+     */
+    public double hitRate() {
+        long hit = hits.sum(), total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private record Entry(String key, int hash, int nodeId) {
+    }
+
+    @Override
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public int nodeCount() {
+        return trie.nodeCount();
+    }
+
+    @Override
+    public String get(int nodeId) {
+        return trie.get(nodeId);
+    }
+
+    @Override
+    public Iterator<String> iterator(boolean orderly) {
+        return trie.iterator(orderly);
+    }
+
+    @Override
+    public Iterator<String> prefixKeysOf(String str) {
+        return trie.prefixKeysOf(str);
+    }
+
+    @Override
+    public Iterator<String> prefixSearch(String prefix) {
+        return trie.prefixSearch(prefix);
+    }
+
+    @Override
+    public int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        return trie.prefixSearch(prefix, visitor);
+    }
+
+    @Override
+    public int longestPrefixMatch(CharSequence text, int from) {
+        return trie.longestPrefixMatch(text, from);
+    }
+
+    @Override
+    public Iterator<String> intersect(Automaton automaton) {
+        return trie.intersect(automaton);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachedSuccinctTrie[%d slots, hit rate %.3f, %s]", table.length(), hitRate(), trie);
+    }
+}
@@ -4,7 +4,8 @@ import it.unimi.dsi.fastutil.chars.CharArrayList;
 import org.example.succinct.api.RankSelectBitSet;
 import org.example.succinct.api.SuccinctTrie;
 import org.example.succinct.common.Range;
-import org.example.succinct.common.RankSelectBitSet4;
+import org.example.succinct.common.RankSelectBitSet5;
+import org.example.succinct.utils.UniqueSort;
 
 import java.nio.CharBuffer;
 import java.util.ArrayDeque;
@@ -19,24 +20,24 @@ public class CharSuccinctTrie implements SuccinctTrie {
     private CharBuffer buffer = CharBuffer.allocate(128);
 
     public static CharSuccinctTrie of(String... keys) {
-        Arrays.sort(keys);
-        return CharSuccinctTrie.sortedOf(keys);
+        return CharSuccinctTrie.sortedOf(UniqueSort.unique(keys));
     }
 
     public static CharSuccinctTrie sortedOf(String... keys) {
         CharArrayList labels = new CharArrayList();
-        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet4.Builder();
+        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet5.Builder();
+        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet5.Builder();
 
         Queue<Range> queue = new ArrayDeque<>(16);
         queue.add(new Range(0, keys.length, 0));
         
-        for (int bitPos = 0, nodeId = 0; !queue.isEmpty(); nodeId++) {
+        while (!queue.isEmpty()) {
             Range range = queue.poll();
             int L = range.L(), R = range.R(), index = range.index();
             // 检查当前节点是否是叶子节点并跳过重复字符串（最短的一定是第一个）
-            if (keys[L].length() == index) {
-                isLeafBuilder.set(nodeId, true);
+            boolean isLeafNode = keys[L].length() == index;
+            isLeafBuilder.append(isLeafNode);
+            if (isLeafNode) {
                 while (++L < R && keys[L].length() == index);
             }
             // 处理子节点
@@ -48,13 +49,13 @@ public class CharSuccinctTrie implements SuccinctTrie {
                 // 添加子节点标签
                 labels.add(currentChar);
                 // 设置子节点标记(0)
-                bitPos++;
+                labelBitmapBuilder.append(false);
                 // 将子节点范围加入队列
                 queue.add(new Range(start, end, index + 1));
                 start = end;
             }
             // 设置节点结束标记(1)
-            labelBitmapBuilder.set(bitPos++, true);
+            labelBitmapBuilder.appendOne();
         }
         // 转换并初始化位图
         return new CharSuccinctTrie(
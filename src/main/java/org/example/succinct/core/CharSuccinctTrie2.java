@@ -1,45 +1,102 @@
 package org.example.succinct.core;
 
+import it.unimi.dsi.bits.LongArrayBitVector;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.chars.CharArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.example.succinct.api.KeyVisitor;
+import org.example.succinct.api.LabelSequence;
 import org.example.succinct.api.RankSelectBitSet;
 import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.common.PackedLabelSequence;
 import org.example.succinct.common.Range;
-import org.example.succinct.common.RankSelectBitSet4;
+import org.example.succinct.common.RankSelectBitSet5;
+import org.example.succinct.common.TrieFormat;
+import org.example.succinct.utils.LabelSearch;
+import org.example.succinct.utils.UniqueSort;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.CharBuffer;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 public class CharSuccinctTrie2 implements SuccinctTrie {
-    private final char[] labels;
+    private final LabelSequence labels;
+    // 标签的底层数组，供向量化查找直接读取；映射自文件或压缩存放时为 null
+    private final char[] labelArray;
     private final RankSelectBitSet labelBitmap;
     private final RankSelectBitSet isLeaf;
     private final RankSelectBitSet isCompress;
-    private final CharBuffer buffer;
+    private final int maxLen;
+    // 每个线程持有独立的解码缓冲区，容量足以容纳最长的键
+    private final ThreadLocal<char[]> buffers;
+    // 可选的根部直接查找表，参见 withRootTable
+    private final RootTable rootTable;
 
     public static CharSuccinctTrie2 of(String... keys) {
-        Arrays.sort(keys);
-        return CharSuccinctTrie2.sortedOf(keys);
+        return CharSuccinctTrie2.sortedOf(UniqueSort.unique(keys));
     }
 
     public static CharSuccinctTrie2 sortedOf(String[] keys) {
-        CharArrayList charLabels = new CharArrayList();
-        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isCompressBuilder = new RankSelectBitSet4.Builder();
-
+        LoudsWriter writer = new LoudsWriter(keys);
         Queue<Range> queue = new ArrayDeque<>(keys.length);
         queue.add(new Range(0, keys.length, 0));
-        int maxLen = 1;
-        for (int bitPos = 0, nodeId = 0; !queue.isEmpty(); nodeId++) {
-            Range range = queue.poll();
+        while (!queue.isEmpty()) {
+            writer.write(queue.poll(), queue);
+        }
+        return writer.build();
+    }
+
+    /**
+     * 并行构建：排序与各子树的编码在给定线程池中执行，产出与 {@link #sortedOf(String[])} 逐位一致的布局
+     */
+    public static CharSuccinctTrie2 parallelOf(String[] keys, ForkJoinPool pool) {
+        return sortedOf(UniqueSort.unique(keys, pool), pool);
+    }
+
+    /**
+     * 并行构建：参见 {@link ParallelBuild}
+     */
+    public static CharSuccinctTrie2 sortedOf(String[] keys, ForkJoinPool pool) {
+        return ParallelBuild.build(keys.length, () -> new LoudsWriter(keys), pool).build();
+    }
+
+    /**
+     * 单个节点在 LOUDS 中的编码：是否为叶子、是否为压缩节点、子节点标签及位图
+     */
+    private static final class LoudsWriter implements ParallelBuild.Writer<LoudsWriter> {
+        private final String[] keys;
+        private final CharArrayList charLabels = new CharArrayList();
+        private final RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet5.Builder();
+        private final RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet5.Builder();
+        private final RankSelectBitSet.Builder isCompressBuilder = new RankSelectBitSet5.Builder();
+        private int maxLen = 1;
+
+        LoudsWriter(String[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public void write(Range range, Queue<Range> queue) {
             int L = range.L(), R = range.R(), index = range.index();
             // 检查当前节点是否是叶子节点并跳过重复字符串（最短的一定是第一个）
-            if (keys[L].length() == index) {
+            boolean isLeafNode = keys[L].length() == index, compress = false;
+            isLeafBuilder.append(isLeafNode);
+            if (isLeafNode) {
                 maxLen = Math.max(maxLen, index);
-                isLeafBuilder.set(nodeId, true);
                 while (++L < R && keys[L].length() == index);
             }
             if (L < R) {
@@ -49,7 +106,7 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
                 if (i == R) {
                     i = L;
                     charLabels.add(c);
-                    int pos = ++bitPos;
+                    labelBitmapBuilder.append(false);
                     while (true) {
                         int before = i;
                         if (keys[i].length() == ++index) {
@@ -70,10 +127,10 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
                         }
                         queue.add(new Range(before, before, index));
                         charLabels.add(c);
-                        bitPos++;
+                        labelBitmapBuilder.append(false);
+                        compress = true;
                         i = start;
                     }
-                    isCompressBuilder.set(nodeId, bitPos - pos > 0);
                 } else {
                     // 处理多个子节点
                     int start = L;
@@ -81,29 +138,397 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
                         int end = start;
                         c = keys[start].charAt(index);
                         while (++end < R && keys[end].charAt(index) == c);
-                        bitPos++; // 设置子节点标记(0)
+                        labelBitmapBuilder.append(false); // 设置子节点标记(0)
                         charLabels.add(c); // 添加子节点标签
                         queue.add(new Range(start, end, index + 1)); // 将子节点范围加入队列
                         start = end;
                     }
                 }
             }
-            labelBitmapBuilder.set(bitPos++, true); // 设置节点结束标记(1)
+            isCompressBuilder.append(compress);
+            labelBitmapBuilder.appendOne(); // 设置节点结束标记(1)
+        }
+
+        @Override
+        public void append(LoudsWriter other) {
+            charLabels.addAll(other.charLabels);
+            labelBitmapBuilder.append(other.labelBitmapBuilder);
+            isLeafBuilder.append(other.isLeafBuilder);
+            isCompressBuilder.append(other.isCompressBuilder);
+            maxLen = Math.max(maxLen, other.maxLen);
+        }
+
+        CharSuccinctTrie2 build() {
+            // 转换并初始化位图
+            return new CharSuccinctTrie2(
+                    LabelSequence.of(CharBuffer.wrap(charLabels.toCharArray())),
+                    labelBitmapBuilder.build(true),
+                    isLeafBuilder.build(true),
+                    isCompressBuilder.build(false), maxLen);
+        }
+    }
+
+    /**
+     * 流式构建：逐个消费已排序的键，不需要在内存中持有完整的 {@code String[]}
+     */
+    public static CharSuccinctTrie2 sortedOf(Iterator<? extends CharSequence> keys) {
+        Builder builder = new Builder();
+        while (keys.hasNext()) {
+            builder.add(keys.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 流式构建：每行一个已排序的键
+     */
+    public static CharSuccinctTrie2 sortedOf(Reader reader) {
+        BufferedReader lines = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        Builder builder = new Builder();
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                builder.add(line);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>面向已排序输入的流式构建器，产出与 {@link #sortedOf(String[])} 完全一致的布局</p>
+     * 第一阶段：按键的深度将未压缩 Trie 的标签、LOUDS 位及叶子位追加到各层缓冲区，
+     * 由于输入有序，每层内的节点恰好按 BFS 顺序产生；
+     * 第二阶段：在拼接后的未压缩 LOUDS 上做一次 BFS，将单分支链压缩为 {@code isCompress} 节点。
+     * 拼接时目标按总长度预分配，每层缓冲区追加后立即释放，因此峰值内存约为未压缩结构（LOUDS、叶子位与标签）
+     * 与输出之和，外加截断输出标签时的一份压缩后标签副本。构建器仅可 {@link #build()} 一次
+     */
+    public static class Builder {
+        // 链上的中间节点没有子节点，仅需记录是否为叶子
+        private static final int CHAIN = -1, CHAIN_LEAF = -2;
+        private final List<Level> levels = new ArrayList<>();
+        private char[] last = new char[16];
+        private int lastLength = -1;
+        private int maxLen = 1;
+
+        private static class Level {
+            final CharArrayList labels = new CharArrayList();
+            final LongArrayBitVector louds = LongArrayBitVector.getInstance();
+            final LongArrayBitVector leaves = LongArrayBitVector.getInstance();
+        }
+
+        public Builder() {
+            Level root = new Level();
+            root.leaves.add(false);
+            levels.add(root);
+        }
+
+        /**
+         * 追加一个键，重复的键会被忽略
+         *
+         * @throws IllegalArgumentException 键未按字典序递增
+         */
+        public Builder add(CharSequence key) {
+            int length = key.length(), lcp = 0, min = Math.min(length, lastLength);
+            while (lcp < min && key.charAt(lcp) == last[lcp]) lcp++;
+            if (lastLength >= 0) {
+                if (lcp == length && lcp == lastLength) {
+                    return this;
+                }
+                if (lcp == length || lcp < lastLength && key.charAt(lcp) < last[lcp]) {
+                    throw new IllegalArgumentException("Keys must be added in sorted order: " + key);
+                }
+            }
+            if (length == 0) {
+                levels.get(0).leaves.set(0, true);
+            }
+            // 公共前缀之后的字符均产生新节点，父节点必然是上一层最后一个节点
+            for (int depth = lcp + 1; depth <= length; depth++) {
+                if (depth == levels.size()) {
+                    levels.add(new Level());
+                }
+                Level level = levels.get(depth);
+                if (level.leaves.length() > 0) {
+                    level.louds.add(true); // 结束同层的前一个节点
+                }
+                level.labels.add(key.charAt(depth - 1));
+                level.leaves.add(depth == length);
+                levels.get(depth - 1).louds.add(false);
+            }
+            if (length > last.length) {
+                last = new char[Math.max(length, last.length << 1)];
+            }
+            for (int i = lcp; i < length; i++) {
+                last[i] = key.charAt(i);
+            }
+            lastLength = length;
+            maxLen = Math.max(maxLen, length);
+            return this;
+        }
+
+        public CharSuccinctTrie2 build() {
+            // 拼接各层缓冲区，得到未压缩的 LOUDS：目标按总长度预分配，每层追加后立即释放
+            long loudsLength = 0, leavesLength = 0;
+            int labelCount = 0;
+            for (Level level : levels) {
+                loudsLength += level.louds.length() + 1;
+                leavesLength += level.leaves.length();
+                labelCount += level.labels.size();
+            }
+            LongArrayBitVector louds = LongArrayBitVector.getInstance(loudsLength);
+            LongArrayBitVector leaves = LongArrayBitVector.getInstance(leavesLength);
+            char[] labels = new char[labelCount];
+            for (int i = 0, offset = 0; i < levels.size(); i++) {
+                Level level = levels.set(i, null);
+                level.louds.add(true);
+                append(louds, level.louds);
+                append(leaves, level.leaves);
+                level.labels.getElements(0, labels, offset, level.labels.size());
+                offset += level.labels.size();
+            }
+            levels.clear();
+            RankSelectBitSet bitmap = new RankSelectBitSet5(louds.bits(), (int) loudsLength, true);
+
+            // 压缩后的标签不多于未压缩的标签
+            char[] charLabels = new char[labelCount];
+            int labelSize = 0;
+            RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet5.Builder();
+            RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet5.Builder();
+            RankSelectBitSet.Builder isCompressBuilder = new RankSelectBitSet5.Builder();
+            IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+            queue.enqueue(0);
+            while (!queue.isEmpty()) {
+                int node = queue.dequeueInt();
+                if (node < 0) {
+                    isLeafBuilder.append(node == CHAIN_LEAF);
+                    isCompressBuilder.append(false);
+                    labelBitmapBuilder.appendOne();
+                    continue;
+                }
+                isLeafBuilder.append(leaves.getBoolean(node));
+                int start = bitmap.select1(node) + 1, end = start;
+                while (!bitmap.get(end)) end++;
+                int child = start + 1 - node;
+                if (end - start == 1) {
+                    // 沿单分支链向下，直到遇到无子节点或多个子节点的节点
+                    charLabels[labelSize++] = labels[child - 1];
+                    labelBitmapBuilder.append(false);
+                    boolean compress = false;
+                    while (true) {
+                        int childStart = bitmap.select1(child) + 1;
+                        if (bitmap.get(childStart) || !bitmap.get(childStart + 1)) {
+                            queue.enqueue(child);
+                            break;
+                        }
+                        queue.enqueue(leaves.getBoolean(child) ? CHAIN_LEAF : CHAIN);
+                        child = childStart + 1 - child;
+                        charLabels[labelSize++] = labels[child - 1];
+                        labelBitmapBuilder.append(false);
+                        compress = true;
+                    }
+                    isCompressBuilder.append(compress);
+                } else {
+                    isCompressBuilder.append(false);
+                    for (int i = start; i < end; i++, child++) {
+                        labelBitmapBuilder.append(false); // 设置子节点标记(0)
+                        charLabels[labelSize++] = labels[child - 1];
+                        queue.enqueue(child);
+                    }
+                }
+                labelBitmapBuilder.appendOne(); // 设置节点结束标记(1)
+            }
+            // 先释放未压缩结构，再截断输出标签
+            labels = null;
+            leaves = null;
+            bitmap = null;
+            louds = null;
+            return new CharSuccinctTrie2(
+                    LabelSequence.of(CharBuffer.wrap(Arrays.copyOf(charLabels, labelSize))),
+                    labelBitmapBuilder.build(true),
+                    isLeafBuilder.build(true),
+                    isCompressBuilder.build(false), maxLen);
+        }
+
+        private static void append(LongArrayBitVector target, LongArrayBitVector source) {
+            long[] words = source.bits();
+            long length = source.length();
+            for (int i = 0; length > 0; i++, length -= 64) {
+                target.append(words[i], (int) Math.min(64, length));
+            }
         }
-        // 转换并初始化位图
-        return new CharSuccinctTrie2(
-                charLabels.toCharArray(),
-                labelBitmapBuilder.build(true),
-                isLeafBuilder.build(false),
-                isCompressBuilder.build(false), maxLen);
     }
 
-    private CharSuccinctTrie2(char[] labels, RankSelectBitSet labelBitmap, RankSelectBitSet isLeaf, RankSelectBitSet isCompress, int maxLen) {
+    /**
+     * 以只读方式映射由 {@link #save(Path)} 写出的文件，所有结构均在映射区内原地查询
+     *
+     * @throws IllegalArgumentException 文件格式或版本不匹配
+     */
+    public static CharSuccinctTrie2 open(Path path) {
+        try {
+            TrieFormat.Reader reader = new TrieFormat.Reader(path, TrieFormat.CHAR_TRIE);
+            return new CharSuccinctTrie2(LabelSequence.of(reader.readChars()), reader.readBitSet(), reader.readBitSet(),
+                    reader.readBitSet(), reader.maxLen());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void save(Path path) {
+        try (TrieFormat.Writer writer = new TrieFormat.Writer(path, TrieFormat.CHAR_TRIE, maxLen)) {
+            writer.writeChars(labels);
+            writer.writeBitSet(labelBitmap);
+            writer.writeBitSet(isLeaf);
+            writer.writeBitSet(isCompress);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private CharSuccinctTrie2(LabelSequence labels, RankSelectBitSet labelBitmap, RankSelectBitSet isLeaf, RankSelectBitSet isCompress, int maxLen) {
         this.labels = labels;
+        this.labelArray = labels.array();
         this.labelBitmap = labelBitmap;
         this.isLeaf = isLeaf;
         this.isCompress = isCompress;
-        this.buffer = CharBuffer.allocate(maxLen);
+        this.maxLen = maxLen;
+        this.buffers = ThreadLocal.withInitial(() -> new char[maxLen]);
+        this.rootTable = null;
+    }
+
+    private CharSuccinctTrie2(CharSuccinctTrie2 trie, LabelSequence labels, RootTable rootTable) {
+        this.labels = labels;
+        this.labelArray = labels.array();
+        this.labelBitmap = trie.labelBitmap;
+        this.isLeaf = trie.isLeaf;
+        this.isCompress = trie.isCompress;
+        this.maxLen = trie.maxLen;
+        this.buffers = trie.buffers;
+        this.rootTable = rootTable;
+    }
+
+    /**
+     * <p>返回共享同一份结构、附带根部直接查找表的副本</p>
+     * 查找表以键的前 depth 个字符为键，记录读完这些字符后的下降状态（节点 ID 与位图下标），
+     * 长于 depth 的查询直接从该状态继续，跳过根节点与第一层这两个扇出最大的节点上的标签查找与 select1。
+     * 表的大小与不同前缀的个数成正比（每项 12 字节），depth 为 2 时可能远大于 depth 为 1 时，
+     * 取舍参见 {@code RootTableBenchmark}。查找表不会被 {@link #save(Path)} 保存
+     *
+     * @param depth 0 表示不使用查找表，1 或 2 表示按首字符或前两个字符查表
+     * @throws IllegalArgumentException depth 不在 [0, 2] 内
+     */
+    public CharSuccinctTrie2 withRootTable(int depth) {
+        if (depth < 0 || depth > 2) {
+            throw new IllegalArgumentException("Root table depth must be in [0, 2]: " + depth);
+        }
+        if (depth == 0) {
+            return new CharSuccinctTrie2(this, labels, null);
+        }
+        // 逐层展开下降状态，state 的高 32 位为节点 ID，低 32 位为位图下标
+        long[] states = { 0 };
+        int[] prefixes = { 0 };
+        for (int level = 0; level < depth; level++) {
+            LongArrayList nextStates = new LongArrayList();
+            IntArrayList nextPrefixes = new IntArrayList();
+            for (int i = 0; i < states.length; i++) {
+                int nodeId = (int) (states[i] >>> 32), bitmapIndex = (int) states[i];
+                if (isCompress.get(nodeId)) {
+                    // 压缩链上只有一条出边，读完链尾标签后转移到链尾节点
+                    if (!labelBitmap.get(bitmapIndex)) {
+                        nextPrefixes.add(prefixes[i] << 16 | labels.get(bitmapIndex - nodeId));
+                        nextStates.add(labelBitmap.get(bitmapIndex + 1) ? state(bitmapIndex + 1 - nodeId)
+                                : (long) nodeId << 32 | bitmapIndex + 1);
+                    }
+                } else {
+                    for (; !labelBitmap.get(bitmapIndex); bitmapIndex++) {
+                        nextPrefixes.add(prefixes[i] << 16 | labels.get(bitmapIndex - nodeId));
+                        nextStates.add(state(bitmapIndex + 1 - nodeId));
+                    }
+                }
+            }
+            states = nextStates.toLongArray();
+            prefixes = nextPrefixes.toIntArray();
+        }
+        return new CharSuccinctTrie2(this, labels, new RootTable(depth, prefixes, states));
+    }
+
+    /**
+     * <p>返回共享同一份位图、标签改为分块压缩存放（{@link PackedLabelSequence}）的副本</p>
+     * 标签以 ASCII 为主时约为原来的一半，代价是标签查找无法向量化、每次读取多一次解码；
+     * 混有 CJK 的块位宽接近 16 位，加上块目录反而更大，此时保留原始标签。
+     * 根部查找表会一并保留，{@link #save(Path)} 仍写出原始标签
+     */
+    public CharSuccinctTrie2 withPackedLabels() {
+        if (labels instanceof PackedLabelSequence) {
+            return this;
+        }
+        PackedLabelSequence packed = PackedLabelSequence.of(labels);
+        return new CharSuccinctTrie2(this, packed.bytes() < labelBytes() ? packed : labels, rootTable);
+    }
+
+    /**
+     * 标签占用的字节数
+     */
+    public long labelBytes() {
+        return labels instanceof PackedLabelSequence packed ? packed.bytes() : (long) labels.length() * Character.BYTES;
+    }
+
+    private long state(int nodeId) {
+        return (long) nodeId << 32 | labelBitmap.select1(nodeId) + 1;
+    }
+
+    /**
+     * 根部查找表占用的字节数，未启用时为 0
+     */
+    public long rootTableBytes() {
+        return rootTable == null ? 0 : rootTable.bytes();
+    }
+
+    /**
+     * 以前缀（前 depth 个字符拼成的 int）为键的开放寻址哈希表，值为下降状态；状态的位图下标总是大于 0，
+     * 因此以 0 表示空槽
+     */
+    private static final class RootTable {
+        private final int depth;
+        private final int mask;
+        private final int[] prefixes;
+        private final long[] states;
+
+        RootTable(int depth, int[] prefixes, long[] states) {
+            int capacity = Integer.highestOneBit(Math.max(1, prefixes.length) * 2 - 1) << 1;
+            this.depth = depth;
+            this.mask = capacity - 1;
+            this.prefixes = new int[capacity];
+            this.states = new long[capacity];
+            for (int i = 0; i < prefixes.length; i++) {
+                int slot = HashCommon.mix(prefixes[i]) & mask;
+                while (this.states[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                this.prefixes[slot] = prefixes[i];
+                this.states[slot] = states[i];
+            }
+        }
+
+        /**
+         * @return key 前 depth 个字符对应的下降状态，不存在以其开头的键时返回 0
+         */
+        long get(String key) {
+            int prefix = key.charAt(0);
+            if (depth == 2) {
+                prefix = prefix << 16 | key.charAt(1);
+            }
+            for (int slot = HashCommon.mix(prefix) & mask; ; slot = slot + 1 & mask) {
+                long state = states[slot];
+                if (state == 0 || prefixes[slot] == prefix) {
+                    return state;
+                }
+            }
+        }
+
+        long bytes() {
+            return (long) prefixes.length * (Integer.BYTES + Long.BYTES);
+        }
     }
 
     @Override
@@ -116,6 +541,69 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
         return isLeaf.size();
     }
 
+    /**
+     * 叶子节点在所有叶子中的序号（按节点 ID 顺序，从 0 开始），用于将键映射到稠密下标
+     *
+     * @param nodeId 叶子节点 ID，即 {@link #index(String)} 的返回值
+     */
+    int leafRank(int nodeId) {
+        return isLeaf.rank1(nodeId) - 1;
+    }
+
+    /**
+     * 前缀在 Trie 中到达的节点（可能位于压缩链中间），不存在时返回 -1
+     */
+    int prefixNode(String prefix) {
+        return extract(prefix);
+    }
+
+    boolean isLeafNode(int nodeId) {
+        return isLeaf.get(nodeId);
+    }
+
+    boolean isCompressNode(int nodeId) {
+        return isCompress.get(nodeId);
+    }
+
+    /**
+     * 父节点 ID，根节点返回 -1
+     */
+    int parent(int nodeId) {
+        return nodeId == 0 ? -1 : labelBitmap.select0(nodeId) + 1 - nodeId;
+    }
+
+    /**
+     * 子节点 ID 连续，区间为 [firstChild, childEnd)
+     */
+    int firstChild(int nodeId) {
+        return labelBitmap.select1(nodeId) + 2 - nodeId;
+    }
+
+    int childEnd(int nodeId) {
+        return labelBitmap.select1(nodeId + 1) + 1 - nodeId;
+    }
+
+    /**
+     * 节点的入边标签，根节点没有标签
+     */
+    char label(int nodeId) {
+        return labels.get(nodeId - 1);
+    }
+
+    /**
+     * 从节点沿标签 c 转移一步，压缩节点只能转移到链上的第一个节点；不能用于压缩链中间的节点
+     *
+     * @return 子节点 ID，不存在时返回 -1
+     */
+    int child(int nodeId, char c) {
+        int bitmapIndex = labelBitmap.select1(nodeId) + 1;
+        if (isCompress.get(nodeId)) {
+            return labels.get(bitmapIndex - nodeId) == c ? bitmapIndex + 1 - nodeId : -1;
+        }
+        bitmapIndex = labelSearch(nodeId, bitmapIndex, c);
+        return bitmapIndex >= 0 ? bitmapIndex + 1 - nodeId : -1;
+    }
+
     @Override
     public boolean contains(String key) {
         return index(key) >= 0;
@@ -130,20 +618,21 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
     @Override
     public String get(int nodeId) {
         if (isLeaf.get(nodeId)) {
-            int bitmapIndex, cap = buffer.capacity(), length = 0;
+            // 缓冲区按线程独占，且在返回前复制进新字符串，保证并发读安全
+            char[] chars = buffers.get();
+            int bitmapIndex, length = 0;
             while ((bitmapIndex = labelBitmap.select0(nodeId)) >= 0) {
                 nodeId = bitmapIndex + 1 - nodeId;
                 if (isCompress.get(nodeId)) {
+                    // 根节点的子节点从位图起点开始，前面没有结束标记
                     do {
-                        buffer.put(cap - ++length, labels[bitmapIndex - nodeId]);
-                    } while (!labelBitmap.get(--bitmapIndex));
+                        chars[maxLen - ++length] = labels.get(bitmapIndex - nodeId);
+                    } while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex));
                 } else {
-                    buffer.put(cap - ++length, labels[bitmapIndex - nodeId]);
+                    chars[maxLen - ++length] = labels.get(bitmapIndex - nodeId);
                 }
             }
-            String s = new String(buffer.array(), cap - length, length);
-            buffer.clear();
-            return s;
+            return new String(chars, maxLen - length, length);
         }
         return null;
     }
@@ -167,7 +656,7 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
                     if (isCompress.get(nodeId)) {
                         while (!labelBitmap.get(bitmapIndex) && pos < chars.length) {
                             int labelIndex = bitmapIndex++ - nodeId;
-                            if (labels[labelIndex] != chars[pos]) {
+                            if (labels.get(labelIndex) != chars[pos]) {
                                 bitmapIndex = 0;
                                 break;
                             } else {
@@ -183,7 +672,7 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
                         }
                         bitmapIndex--;
                     } else {
-                        bitmapIndex = labelSearch(nodeId, bitmapIndex, chars[pos++], pos <= 3);
+                        bitmapIndex = labelSearch(nodeId, bitmapIndex, chars[pos++]);
                     }
                     if (bitmapIndex >= 0) {
                         nodeId = bitmapIndex + 1 - nodeId;
@@ -199,6 +688,37 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
         };
     }
 
+    @Override
+    public int longestPrefixMatch(CharSequence text, int from) {
+        int length = text.length(), nodeId = 0, bitmapIndex = 0, pos = from;
+        int longest = isLeaf.get(0) ? 0 : -1;
+        while (pos < length) {
+            if (isCompress.get(nodeId)) {
+                while (!labelBitmap.get(bitmapIndex) && pos < length) {
+                    int labelIndex = bitmapIndex++ - nodeId;
+                    if (labels.get(labelIndex) != text.charAt(pos++)) {
+                        return longest;
+                    }
+                    if (isLeaf.get(labelIndex + 1)) {
+                        longest = pos - from;
+                    }
+                }
+                bitmapIndex--;
+            } else {
+                bitmapIndex = labelSearch(nodeId, bitmapIndex, text.charAt(pos++));
+                if (bitmapIndex < 0) {
+                    break;
+                }
+                if (isLeaf.get(bitmapIndex + 1 - nodeId)) {
+                    longest = pos - from;
+                }
+            }
+            nodeId = bitmapIndex + 1 - nodeId;
+            bitmapIndex = labelBitmap.select1(nodeId) + 1;
+        }
+        return longest;
+    }
+
     @Override
     public Iterator<String> iterator(boolean orderly) {
         if (orderly) {
@@ -227,131 +747,534 @@ public class CharSuccinctTrie2 implements SuccinctTrie {
         return dfs(extract(prefix), prefix);
     }
 
+    @Override
+    public int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        String str = prefix.toString();
+        int rootId = extract(str), count = 0;
+        if (rootId >= 0) {
+            Cursor cursor = new Cursor(rootId, str);
+            while (cursor.next()) {
+                count++;
+                if (!visitor.visit(cursor.charBuffer.array(), cursor.charBuffer.limit())) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
     private Iterator<String> dfs(int rootId, String prefix) {
+        if (rootId < 0) {
+            return Collections.emptyIterator();
+        }
+        Cursor cursor = new Cursor(rootId, prefix);
         return new TermIterator() {
-            private final CharBuffer charBuffer = CharBuffer.allocate(buffer.capacity());
-            private int nodeId = rootId;
-            private int bitmapIndex = rootId < 0 ? labelBitmap.size() - 1 : labelBitmap.select1(rootId) + 1;
-
             {
-                charBuffer.append(prefix).flip();
-                int parentIndex = labelBitmap.select0(nodeId) + 1, parentId = parentIndex - nodeId;
-                if (isCompress.get(parentId) && !labelBitmap.get(parentIndex)) {
-                    nodeId = parentId;
-                    bitmapIndex = parentIndex;
-                }
-                if (isLeaf.get(rootId)) {
-                    next = charBuffer.toString();
-                } else {
-                    advance();
-                }
+                advance();
             }
 
             @Override
             protected void advance() {
-                // 切换写模式
-                charBuffer.position(charBuffer.limit()).limit(charBuffer.capacity());
-                while (true) {
-                    // 撞墙
-                    while (labelBitmap.get(bitmapIndex) || bitmapIndex < 0) {
-                        // 到达根节点，遍历结束
-                        if (nodeId <= rootId) {
-                            next = null;
-                            return;
-                        }
-                        // 回溯并向右转移
-                        bitmapIndex = labelBitmap.select0(nodeId) + 1;
-                        nodeId = bitmapIndex - nodeId;
-                        if (isCompress.get(nodeId)) {
-                            int pos = charBuffer.position();
-                            while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex)) pos--;
-                            charBuffer.position(pos);
-                        } else {
-                            charBuffer.position(charBuffer.position() - 1);
-                        }
+                next = cursor.next() ? cursor.charBuffer.toString() : null;
+            }
+        };
+    }
+
+    /**
+     * 按字典序深度优先遍历以 rootId 为根的子树，当前键位于复用的 {@code charBuffer} 的 [0, limit) 中
+     */
+    private final class Cursor {
+        private final CharBuffer charBuffer = CharBuffer.allocate(maxLen);
+        private final int rootId;
+        private int nodeId;
+        private int bitmapIndex;
+        private boolean started;
+
+        private Cursor(int rootId, String prefix) {
+            this.rootId = rootId;
+            this.nodeId = rootId;
+            this.bitmapIndex = labelBitmap.select1(rootId) + 1;
+            charBuffer.append(prefix).flip();
+            int parentIndex = labelBitmap.select0(nodeId) + 1, parentId = parentIndex - nodeId;
+            if (isCompress.get(parentId) && !labelBitmap.get(parentIndex)) {
+                nodeId = parentId;
+                bitmapIndex = parentIndex;
+            }
+        }
+
+        /**
+         * 移动到下一个键
+         *
+         * @return 是否还有键
+         */
+        private boolean next() {
+            if (!started) {
+                started = true;
+                if (isLeaf.get(rootId)) {
+                    return true;
+                }
+            }
+            // 切换写模式
+            charBuffer.position(charBuffer.limit()).limit(charBuffer.capacity());
+            while (true) {
+                // 撞墙
+                while (labelBitmap.get(bitmapIndex) || bitmapIndex < 0) {
+                    // 到达根节点，遍历结束
+                    if (nodeId <= rootId) {
+                        return false;
                     }
-                    // 向下转移
+                    // 回溯并向右转移
+                    bitmapIndex = labelBitmap.select0(nodeId) + 1;
+                    nodeId = bitmapIndex - nodeId;
                     if (isCompress.get(nodeId)) {
-                        while (!labelBitmap.get(bitmapIndex + 1)) {
-                            int labelIndex = bitmapIndex++ - nodeId;
-                            charBuffer.put(labels[labelIndex]);
-                            if (isLeaf.get(labelIndex + 1)) {
-                                next = charBuffer.flip().toString();
-                                return;
-                            }
+                        int pos = charBuffer.position();
+                        while (--bitmapIndex >= 0 && !labelBitmap.get(bitmapIndex)) pos--;
+                        charBuffer.position(pos);
+                    } else {
+                        charBuffer.position(charBuffer.position() - 1);
+                    }
+                }
+                // 向下转移
+                if (isCompress.get(nodeId)) {
+                    while (!labelBitmap.get(bitmapIndex + 1)) {
+                        int labelIndex = bitmapIndex++ - nodeId;
+                        charBuffer.put(labels.get(labelIndex));
+                        if (isLeaf.get(labelIndex + 1)) {
+                            charBuffer.flip();
+                            return true;
                         }
                     }
-                    nodeId = bitmapIndex + 1 - nodeId;
-                    bitmapIndex = labelBitmap.select1(nodeId) + 1;
-                    charBuffer.put(labels[nodeId - 1]);
-                    if (isLeaf.get(nodeId)) {
-                        next = charBuffer.flip().toString();
-                        return;
+                }
+                nodeId = bitmapIndex + 1 - nodeId;
+                bitmapIndex = labelBitmap.select1(nodeId) + 1;
+                charBuffer.put(labels.get(nodeId - 1));
+                if (isLeaf.get(nodeId)) {
+                    charBuffer.flip();
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 键在所有键中按字典序的位置（从 0 开始），不存在时返回 -1
+     * <p>沿查找路径累加：途经的叶子节点（key 的真前缀）以及每层目标子节点左侧兄弟子树中的键数</p>
+     */
+    public long ordinal(String key) {
+        return rank(key, true);
+    }
+
+    /**
+     * 以 prefix 开头的第一个键的字典序位置，不存在以其开头的键时返回 -1
+     */
+    long prefixRank(String prefix) {
+        return rank(prefix, false);
+    }
+
+    /**
+     * 以 prefix 开头的键的个数，它们的字典序位置从 {@link #prefixRank} 起连续
+     */
+    long prefixCount(String prefix) {
+        int nodeId = extract(prefix);
+        if (nodeId < 0) {
+            return 0;
+        }
+        // 前缀止于压缩链中间时，链上后续节点（及其子树）同样以其开头
+        int parent = parent(nodeId);
+        return leafCount(nodeId, parent >= 0 && isCompress.get(parent) ? childEnd(parent) : nodeId + 1);
+    }
+
+    /**
+     * @param exact 为 true 时要求 key 本身是键，否则只要求存在以 key 开头的键
+     */
+    private long rank(String key, boolean exact) {
+        int length = key.length();
+        if (length > maxLen) {
+            return -1;
+        }
+        int nodeId = 0, bitmapIndex = 0, pos = 0;
+        long ordinal = 0;
+        while (pos < length) {
+            if (isLeaf.get(nodeId)) {
+                ordinal++;
+            }
+            int firstChild = bitmapIndex + 1 - nodeId;
+            if (isCompress.get(nodeId)) {
+                // 压缩链上的中间节点互为兄弟且没有子节点，同样适用兄弟子树计数
+                while (!labelBitmap.get(bitmapIndex) && pos < length) {
+                    if (labels.get(bitmapIndex++ - nodeId) != key.charAt(pos++)) {
+                        return -1;
                     }
                 }
+                bitmapIndex--;
+            } else {
+                bitmapIndex = labelSearch(nodeId, bitmapIndex, key.charAt(pos++));
+                if (bitmapIndex < 0) {
+                    return -1;
+                }
             }
-        };
+            int child = bitmapIndex + 1 - nodeId;
+            ordinal += leafCount(firstChild, child);
+            nodeId = child;
+            bitmapIndex = labelBitmap.select1(nodeId) + 1;
+        }
+        return !exact || isLeaf.get(nodeId) ? ordinal : -1;
+    }
+
+    /**
+     * 按字典序第 ordinal 个（从 0 开始）键，越界时返回 null
+     */
+    public String keyAt(long ordinal) {
+        if (ordinal < 0 || ordinal >= size()) {
+            return null;
+        }
+        char[] chars = buffers.get();
+        int nodeId = 0, length = 0;
+        while (true) {
+            if (isLeaf.get(nodeId)) {
+                if (ordinal == 0) {
+                    return new String(chars, 0, length);
+                }
+                ordinal--;
+            }
+            int start = labelBitmap.select1(nodeId) + 1;
+            int firstChild = start + 1 - nodeId, end = labelBitmap.select1(nodeId + 1) + 1 - nodeId;
+            // 二分查找第一个使左侧（含自身）子树键数超过 ordinal 的子节点
+            int low = firstChild, high = end - 1;
+            while (low < high) {
+                int mid = low + high >>> 1;
+                if (leafCount(firstChild, mid + 1) > ordinal) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            ordinal -= leafCount(firstChild, low);
+            if (isCompress.get(nodeId)) {
+                // 进入压缩链的第 j 个节点意味着依次经过链上前 j 个标签
+                for (int child = firstChild; child <= low; child++) {
+                    chars[length++] = labels.get(child - 1);
+                }
+            } else {
+                chars[length++] = labels.get(low - 1);
+            }
+            nodeId = low;
+        }
+    }
+
+    /**
+     * 统计同层节点区间 [l, r) 为根的所有子树中叶子节点的个数：逐层将区间映射到其子节点区间
+     */
+    private long leafCount(int l, int r) {
+        long count = 0;
+        while (l < r) {
+            count += isLeaf.rank1(r - 1) - (l > 0 ? isLeaf.rank1(l - 1) : 0);
+            l = labelBitmap.select1(l) - l + 2;
+            r = labelBitmap.select1(r) - r + 2;
+        }
+        return count;
+    }
+
+    /**
+     * 模糊查询的结果：键及其与查询串的编辑距离
+     */
+    public record Match(String key, int distance) {
+    }
+
+    /**
+     * 与 query 的 Levenshtein 距离不超过 maxEdits 的所有键，按字典序排列
+     * <p>深度优先遍历 Trie，每进入一个子节点由父节点的 DP 行推出一行；行内最小值超过 maxEdits 时剪掉整棵子树，
+     * 键长超过 {@code query.length() + maxEdits} 的路径同样不再深入</p>
+     *
+     * @throws IllegalArgumentException maxEdits 为负数
+     */
+    public List<Match> fuzzySearch(String query, int maxEdits) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("maxEdits must be non-negative: " + maxEdits);
+        }
+        int m = query.length(), depth = Math.min(maxLen, m + maxEdits);
+        List<Match> result = new ArrayList<>();
+        int[][] rows = new int[depth + 1][m + 1];
+        for (int j = 0; j <= m; j++) {
+            rows[0][j] = j;
+        }
+        if (isLeaf.get(0) && m <= maxEdits) {
+            result.add(new Match("", m));
+        }
+        fuzzySearch(query, maxEdits, 0, 0, new char[depth], rows, result);
+        return result;
+    }
+
+    /**
+     * @param depth 当前节点对应的键长，即 {@code rows[depth]} 为当前节点的 DP 行
+     */
+    private void fuzzySearch(String query, int maxEdits, int nodeId, int depth, char[] key, int[][] rows, List<Match> result) {
+        int m = query.length(), start = labelBitmap.select1(nodeId) + 1, end = labelBitmap.select1(nodeId + 1);
+        if (isCompress.get(nodeId)) {
+            // 压缩链上的节点依次延长同一条路径，只有链尾节点有子节点
+            for (int i = start; i < end && depth < key.length; i++) {
+                char c = labels.get(i - nodeId);
+                key[depth] = c;
+                int min = nextRow(query, c, rows[depth], rows[++depth]), child = i + 1 - nodeId;
+                if (isLeaf.get(child) && rows[depth][m] <= maxEdits) {
+                    result.add(new Match(new String(key, 0, depth), rows[depth][m]));
+                }
+                if (min > maxEdits) {
+                    return;
+                }
+                if (i == end - 1) {
+                    fuzzySearch(query, maxEdits, child, depth, key, rows, result);
+                }
+            }
+        } else if (depth < key.length) {
+            for (int i = start; i < end; i++) {
+                char c = labels.get(i - nodeId);
+                key[depth] = c;
+                int min = nextRow(query, c, rows[depth], rows[depth + 1]), child = i + 1 - nodeId;
+                if (isLeaf.get(child) && rows[depth + 1][m] <= maxEdits) {
+                    result.add(new Match(new String(key, 0, depth + 1), rows[depth + 1][m]));
+                }
+                if (min <= maxEdits) {
+                    fuzzySearch(query, maxEdits, child, depth + 1, key, rows, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * 由上一行推出追加字符 c 后的 DP 行
+     *
+     * @return 新行中的最小值
+     */
+    private static int nextRow(String query, char c, int[] prev, int[] row) {
+        int min = row[0] = prev[0] + 1;
+        for (int j = 1; j < row.length; j++) {
+            int cost = query.charAt(j - 1) == c ? 0 : 1;
+            row[j] = Math.min(Math.min(prev[j] + 1, row[j - 1] + 1), prev[j - 1] + cost);
+            min = Math.min(min, row[j]);
+        }
+        return min;
+    }
+
+    /**
+     * 只沿自动机仍存活的边下降：自动机进入死状态时跳过整棵子树，压缩链在死状态处截断
+     */
+    @Override
+    public Iterator<String> intersect(Automaton automaton) {
+        return new AutomatonIterator(new CharacterRunAutomaton(automaton));
+    }
+
+    /**
+     * 以显式栈深度优先遍历，每一帧是一个节点尚未访问的子节点区间 [index, end)；
+     * 压缩节点的帧依次延长同一条路径，其第 i 个标签位于深度 {@code depth + i - start}
+     */
+    private final class AutomatonIterator extends TermIterator {
+        private final CharacterRunAutomaton automaton;
+        private final char[] key = new char[maxLen];
+        // states[d] 为消费前 d 个字符后的状态；key[d - 1] 为高代理时，则是消费它之前的状态
+        private final int[] states = new int[maxLen + 1];
+        private final int[] nodes = new int[maxLen + 1], starts = new int[maxLen + 1];
+        private final int[] indexes = new int[maxLen + 1], ends = new int[maxLen + 1], depths = new int[maxLen + 1];
+        private int top = -1;
+
+        private AutomatonIterator(CharacterRunAutomaton automaton) {
+            this.automaton = automaton;
+            push(0, 0);
+            if (!isLeaf.get(0) || !accept(0)) {
+                advance();
+            }
+        }
+
+        private void push(int nodeId, int depth) {
+            int start = labelBitmap.select1(nodeId) + 1, end = labelBitmap.select1(nodeId + 1);
+            if (start < end) {
+                top++;
+                nodes[top] = nodeId;
+                starts[top] = indexes[top] = start;
+                ends[top] = end;
+                depths[top] = depth;
+            }
+        }
+
+        @Override
+        protected void advance() {
+            while (top >= 0) {
+                int nodeId = nodes[top], i = indexes[top]++, end = ends[top];
+                boolean compress = isCompress.get(nodeId);
+                int depth = compress ? depths[top] + i - starts[top] : depths[top];
+                if (i + 1 >= end) {
+                    top--;
+                }
+                key[depth] = labels.get(i - nodeId);
+                int state = step(depth);
+                if (state < 0) {
+                    // 压缩链后续的节点都经过这条边
+                    if (compress && i + 1 < end) {
+                        top--;
+                    }
+                    continue;
+                }
+                states[depth + 1] = state;
+                int child = i + 1 - nodeId;
+                // 压缩链中只有链尾节点有子节点
+                if (!compress || i + 1 == end) {
+                    push(child, depth + 1);
+                }
+                if (isLeaf.get(child) && accept(depth + 1)) {
+                    next = new String(key, 0, depth + 1);
+                    return;
+                }
+            }
+            next = null;
+        }
+
+        /**
+         * @return 消费 key[depth] 后的状态，死状态返回 -1；key[depth] 为高代理时暂不消费，等待与低代理组成码点
+         */
+        private int step(int depth) {
+            int state = states[depth];
+            char c = key[depth];
+            if (depth > 0 && Character.isHighSurrogate(key[depth - 1])) {
+                if (Character.isLowSurrogate(c)) {
+                    return automaton.step(state, Character.toCodePoint(key[depth - 1], c));
+                }
+                // 孤立的高代理按其自身的值消费
+                if ((state = automaton.step(state, key[depth - 1])) < 0) {
+                    return -1;
+                }
+            }
+            return Character.isHighSurrogate(c) ? state : automaton.step(state, c);
+        }
+
+        private boolean accept(int length) {
+            int state = states[length];
+            if (length > 0 && Character.isHighSurrogate(key[length - 1])) {
+                state = automaton.step(state, key[length - 1]);
+            }
+            return state >= 0 && automaton.isAccept(state);
+        }
+    }
+
+    @Override
+    public int[] indexAll(String[] queries) {
+        int[] indexes = new int[queries.length];
+        // 第 d 层保存消费前 d 个字符后的状态：当前节点、下一个待匹配标签的下标、前缀实际到达的节点
+        int[] nodes = new int[maxLen + 1], bitmapIndexes = new int[maxLen + 1], reached = new int[maxLen + 1];
+        String prev = "";
+        int valid = 0;
+        for (int i = 0; i < queries.length; i++) {
+            String key = queries[i];
+            int length = key.length();
+            if (length > maxLen) {
+                indexes[i] = -1;
+                continue;
+            }
+            int depth = 0, limit = Math.min(length, valid);
+            while (depth < limit && key.charAt(depth) == prev.charAt(depth)) depth++;
+            while (depth < length && step(nodes, bitmapIndexes, reached, depth, key.charAt(depth))) depth++;
+            prev = key;
+            valid = depth;
+            indexes[i] = depth == length && isLeaf.get(reached[depth]) ? reached[depth] : -1;
+        }
+        return indexes;
+    }
+
+    /**
+     * 由第 depth 层的状态消费一个字符，成功时写入第 depth + 1 层
+     *
+     * @return 是否存在该转移
+     */
+    private boolean step(int[] nodes, int[] bitmapIndexes, int[] reached, int depth, char c) {
+        int nodeId = nodes[depth], bitmapIndex = bitmapIndexes[depth];
+        if (isCompress.get(nodeId) && !labelBitmap.get(bitmapIndex)) {
+            // 在压缩链上逐个比较
+            if (labels.get(bitmapIndex - nodeId) != c) {
+                return false;
+            }
+            int child = bitmapIndex + 1 - nodeId;
+            reached[depth + 1] = child;
+            if (labelBitmap.get(++bitmapIndex)) {
+                // 链已走完，转移到链尾的真实节点
+                nodes[depth + 1] = child;
+                bitmapIndexes[depth + 1] = labelBitmap.select1(child) + 1;
+            } else {
+                nodes[depth + 1] = nodeId;
+                bitmapIndexes[depth + 1] = bitmapIndex;
+            }
+            return true;
+        }
+        bitmapIndex = labelSearch(nodeId, bitmapIndex, c);
+        if (bitmapIndex < 0) {
+            return false;
+        }
+        int child = bitmapIndex + 1 - nodeId;
+        nodes[depth + 1] = child;
+        bitmapIndexes[depth + 1] = labelBitmap.select1(child) + 1;
+        reached[depth + 1] = child;
+        return true;
     }
 
     private int extract(String key) {
-        if (key.length() > buffer.capacity()) {
+        int length = key.length();
+        if (length > maxLen) {
             return -1;
         }
-        buffer.append(key).flip();
-        int nodeId = 0, bitmapIndex = 0;
-        while (buffer.hasRemaining() && bitmapIndex >= 0) {
+        // 直接读取 key 而不经过共享缓冲区，查询过程无状态，可被多线程并发调用
+        int nodeId = 0, bitmapIndex = 0, pos = 0;
+        if (rootTable != null && length > rootTable.depth) {
+            long state = rootTable.get(key);
+            if (state == 0) {
+                return -1;
+            }
+            nodeId = (int) (state >>> 32);
+            bitmapIndex = (int) state;
+            pos = rootTable.depth;
+        }
+        while (pos < length && bitmapIndex >= 0) {
             if (isCompress.get(nodeId)) {
-                while (!labelBitmap.get(bitmapIndex) && buffer.hasRemaining()) {
-                    if (labels[bitmapIndex++ - nodeId] != buffer.get()) {
+                while (!labelBitmap.get(bitmapIndex) && pos < length) {
+                    if (labels.get(bitmapIndex++ - nodeId) != key.charAt(pos++)) {
                         bitmapIndex = 0;
                         break;
                     }
                 }
                 bitmapIndex--;
             } else {
-                bitmapIndex = labelSearch(nodeId, bitmapIndex, buffer.get(), buffer.position() <= 3);
+                bitmapIndex = labelSearch(nodeId, bitmapIndex, key.charAt(pos++));
             }
             if (bitmapIndex >= 0) {
                 nodeId = bitmapIndex + 1 - nodeId;
                 bitmapIndex = labelBitmap.select1(nodeId) + 1;
             }
         }
-        buffer.clear();
         return bitmapIndex >= 0 ? nodeId : -1;
     }
 
     /**
-     * 搜索标签向下层转移
+     * 搜索标签向下层转移，按子节点个数（扇出）选择查找方式，参见 {@link LabelSearch}
      *
      * @param nodeId      当前节点ID
      * @param bitmapIndex 当前节点在 {@code labelBitmap} 中的起始下标
      * @param c           要搜索的标签
-     * @param bSearch     是否使用二分查找
      * @return 目标标签在 {@code labelBitmap} 中的下标，否则返回 -1
      */
-    private int labelSearch(int nodeId, int bitmapIndex, char c, boolean bSearch) {
-        if (bSearch && !labelBitmap.get(bitmapIndex + 1)) {
-            int high = labelBitmap.select1(nodeId + 1) - 1;
-            if (labelBitmap.get(high)) {
-                return -1;
-            }
-            int index = Arrays.binarySearch(labels, bitmapIndex - nodeId, high - nodeId + 1, c);
+    private int labelSearch(int nodeId, int bitmapIndex, char c) {
+        int end = labelBitmap.nextSetBit(bitmapIndex);
+        if (end - bitmapIndex == 1) {
+            return labels.get(bitmapIndex - nodeId) == c ? bitmapIndex : -1;
+        }
+        if (labelArray != null) {
+            int index = LabelSearch.indexOf(labelArray, bitmapIndex - nodeId, end - nodeId, c);
             return index < 0 ? -1 : index + nodeId;
-        } else {
-            while (!labelBitmap.get(bitmapIndex)) {
-                int labelIndex = bitmapIndex - nodeId;
-                if (labels[labelIndex] == c) {
-                    return bitmapIndex;
-                }
-                bitmapIndex++;
-            }
-            return -1;
         }
+        // 映射自文件或压缩存放的标签没有底层数组
+        int index = labels.indexOf(bitmapIndex - nodeId, end - nodeId, c);
+        return index < 0 ? -1 : index + nodeId;
     }
 
     @Override
     public String toString() {
-        return "CharSuccinctTrie[" + labels.length + " labels, " + labelBitmap.size() + " bits]";
+        return "CharSuccinctTrie[" + labels.length() + " labels, " + labelBitmap.size() + " bits]";
     }
 
 }
@@ -1,17 +1,19 @@
 package org.example.succinct.core;
 
 import it.unimi.dsi.fastutil.chars.CharArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.example.succinct.api.KeyVisitor;
 import org.example.succinct.api.RankSelectBitSet;
 import org.example.succinct.api.SuccinctTrie;
-import org.example.succinct.common.RankSelectBitSet4;
+import org.example.succinct.common.RankSelectBitSet5;
+import org.example.succinct.utils.LabelSearch;
+import org.example.succinct.utils.UniqueSort;
 
 import java.nio.CharBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 
@@ -21,20 +23,20 @@ public class NestedSuccinctTrie implements SuccinctTrie {
     private final RankSelectBitSet isLeaf;
     private final RankSelectBitSet isLink;
     private final NestedSuccinctTrie nestedTrie;
-    private final CharBuffer buffer;
+    private final int maxLen;
+    // 每个线程持有独立的解码缓冲区，容量足以容纳最长的键
+    private final ThreadLocal<char[]> buffers;
     private final int level;
 
     private record Range(int L, int R, int index, boolean nested) {
     }
 
     public static NestedSuccinctTrie of(String... keys) {
-        Arrays.sort(keys);
-        return NestedSuccinctTrie.sortedOf(keys);
+        return NestedSuccinctTrie.sortedOf(UniqueSort.unique(keys));
     }
 
     public static NestedSuccinctTrie of(String[] keys, int level) {
-        Arrays.sort(keys);
-        return NestedSuccinctTrie.sortedOf(keys, level);
+        return NestedSuccinctTrie.sortedOf(UniqueSort.unique(keys), level);
     }
 
     public static NestedSuccinctTrie sortedOf(String... keys) {
@@ -43,19 +45,20 @@ public class NestedSuccinctTrie implements SuccinctTrie {
 
     public static NestedSuccinctTrie sortedOf(String[] keys, int level) {
         CharArrayList charLabels = new CharArrayList();
-        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet4.Builder();
-        RankSelectBitSet.Builder isLinkBuilder = level > 1 ? new RankSelectBitSet4.Builder() : null;
+        RankSelectBitSet.Builder labelBitmapBuilder = new RankSelectBitSet5.Builder();
+        RankSelectBitSet.Builder isLeafBuilder = new RankSelectBitSet5.Builder();
+        RankSelectBitSet.Builder isLinkBuilder = level > 1 ? new RankSelectBitSet5.Builder() : null;
 
         Queue<Range> queue = new ArrayDeque<>(keys.length);
         List<String> compress = new ArrayList<>();
         queue.add(new Range(0, keys.length, 0, false));
         int maxLen = 1;
-        for (int bitPos = 0, nodeId = 0; !queue.isEmpty(); nodeId++) {
+        while (!queue.isEmpty()) {
             Range range = queue.poll();
             int L = range.L(), R = range.R(), index = range.index();
             if (range.nested() && level > 1) {
-                isLinkBuilder.set(nodeId, true);
+                isLinkBuilder.append(true);
+                isLeafBuilder.append(false);
                 charLabels.add(keys[L].charAt(index));
                 int offset = 1;
                 for (int next = index + 1; keys[L].length() > next; offset++, next++) {
@@ -66,14 +69,18 @@ public class NestedSuccinctTrie implements SuccinctTrie {
                         break;
                     }
                 }
-                bitPos++;
+                labelBitmapBuilder.append(false);
                 compress.add(new StringBuilder(keys[L].substring(index - 1, index + offset)).reverse().toString());
                 queue.add(new Range(L, R, index + offset, false));
             } else {
+                if (isLinkBuilder != null) {
+                    isLinkBuilder.append(false);
+                }
                 // 检查当前节点是否是叶子节点并跳过重复字符串（最短的一定是第一个）
-                if (keys[L].length() == index) {
+                boolean isLeafNode = keys[L].length() == index;
+                isLeafBuilder.append(isLeafNode);
+                if (isLeafNode) {
                     maxLen = Math.max(maxLen, index);
-                    isLeafBuilder.set(nodeId, true);
                     while (++L < R && keys[L].length() == index);
                 }
                 // 处理子节点
@@ -89,13 +96,13 @@ public class NestedSuccinctTrie implements SuccinctTrie {
                         while (++i < end && keys[i].charAt(next) == nextChar);
                         nested = i == end; // 仅有一个子节点
                     }
-                    bitPos++; // 设置子节点标记(0)
+                    labelBitmapBuilder.append(false); // 设置子节点标记(0)
                     charLabels.add(currentChar); // 添加子节点标签
                     queue.add(new Range(start, end, index + 1, nested)); // 将子节点范围加入队列
                     start = end;
                 }
             }
-            labelBitmapBuilder.set(bitPos++, true); // 设置节点结束标记(1)
+            labelBitmapBuilder.appendOne(); // 设置节点结束标记(1)
         }
         RankSelectBitSet isLink = null;
         NestedSuccinctTrie nestedTrie = null;
@@ -132,7 +139,8 @@ public class NestedSuccinctTrie implements SuccinctTrie {
         this.isLeaf = isLeaf;
         this.isLink = isLink;
         this.nestedTrie = trie;
-        this.buffer = CharBuffer.allocate(maxLen);
+        this.maxLen = maxLen;
+        this.buffers = ThreadLocal.withInitial(() -> new char[maxLen]);
         this.level = trie == null ? 1 : trie.level + 1;
     }
 
@@ -164,23 +172,23 @@ public class NestedSuccinctTrie implements SuccinctTrie {
     @Override
     public String get(int nodeId) {
         if (isLeaf.get(nodeId)) {
-            int bitmapIndex, subNodeId = nodeId, cap = buffer.capacity(), length = 0;
+            // 缓冲区按线程独占，且在返回前复制进新字符串，保证并发读安全
+            char[] chars = buffers.get();
+            int bitmapIndex, subNodeId = nodeId, length = 0;
             while ((bitmapIndex = labelBitmap.select0(nodeId)) >= 0) {
                 if (isLink != null && isLink.get(nodeId)) {
                     String str = nestedTrie.get(getLinkId(nodeId, subNodeId));
                     length--;
                     for (int i = 0; i < str.length(); i++) {
-                        buffer.put(cap - ++length, str.charAt(i));
+                        chars[maxLen - ++length] = str.charAt(i);
                     }
                 } else {
-                    buffer.put(cap - ++length, labels[nodeId - 1]);
+                    chars[maxLen - ++length] = labels[nodeId - 1];
                 }
                 subNodeId = nodeId;
                 nodeId = bitmapIndex + 1 - nodeId;
             }
-            String s = new String(buffer.array(), cap - length, length);
-            buffer.clear();
-            return s;
+            return new String(chars, maxLen - length, length);
         }
         return null;
     }
@@ -200,7 +208,7 @@ public class NestedSuccinctTrie implements SuccinctTrie {
 
             protected void advance() {
                 int index;
-                while (pos < chars.length && (index = moveDown(state, chars, pos)) >= 0) {
+                while (pos < chars.length && (index = moveDown(state, str, pos)) >= 0) {
                     pos = index;
                     if (isLeaf.get(state[0])) {
                         next = new String(chars, 0, pos);
@@ -240,51 +248,93 @@ public class NestedSuccinctTrie implements SuccinctTrie {
         return dfs(extract(prefix), prefix);
     }
 
+    @Override
+    public int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        String str = prefix.toString();
+        int rootId = extract(str), count = 0;
+        if (rootId >= 0) {
+            Cursor cursor = new Cursor(rootId, str);
+            while (cursor.next()) {
+                count++;
+                if (!visitor.visit(cursor.charBuffer.array(), cursor.charBuffer.limit())) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
     private Iterator<String> dfs(int rootId, String prefix) {
+        if (rootId < 0) {
+            return Collections.emptyIterator();
+        }
+        Cursor cursor = new Cursor(rootId, prefix);
         return new TermIterator() {
-            private final CharBuffer charBuffer = CharBuffer.allocate(buffer.capacity());
-            private Deque<Integer> q = new LinkedList<>();
-            private int[] state = new int[] { rootId, rootId < 0 ? labelBitmap.size() : labelBitmap.select1(rootId) + 1 };
-
             {
-                charBuffer.append(prefix);
-                charBuffer.flip();
-                if (!isLeaf.get(rootId)) {
-                    advance();
-                }
+                advance();
             }
 
             @Override
             protected void advance() {
-                // 续写
-                charBuffer.position(charBuffer.limit());
-                charBuffer.limit(charBuffer.capacity());
-                while (true) {
-                    // 撞墙
-                    while (state[1] >= labelBitmap.size() || labelBitmap.get(state[1])) {
-                        // 到达根节点，遍历结束
-                        if (state[0] == rootId) {
-                            next = null;
-                            return;
-                        }
-                        // 回溯并向右转移
-                        if (moveUpAndRightWithBuffer(state, charBuffer, q.isEmpty() ? 0 : q.peekLast())) {
-                            q.pollLast();
-                        }
-                    }
-                    // 向下转移
-                    int length = moveDownWithBuffer(state, charBuffer);
-                    if (length > 1) {
-                        q.offer(length);
+                next = cursor.next() ? cursor.charBuffer.toString() : null;
+            }
+        };
+    }
+
+    /**
+     * 按字典序深度优先遍历以 rootId 为根的子树，当前键位于复用的 {@code charBuffer} 的 [0, limit) 中
+     */
+    private final class Cursor {
+        private final CharBuffer charBuffer = CharBuffer.allocate(maxLen);
+        // 路径上每个链接节点展开的字符数，回溯时出栈
+        private final IntArrayList lengths = new IntArrayList();
+        private final int[] state;
+        private final int rootId;
+        private boolean started;
+
+        private Cursor(int rootId, String prefix) {
+            this.rootId = rootId;
+            this.state = new int[] { rootId, labelBitmap.select1(rootId) + 1 };
+            charBuffer.append(prefix).flip();
+        }
+
+        /**
+         * 移动到下一个键
+         *
+         * @return 是否还有键
+         */
+        private boolean next() {
+            if (!started) {
+                started = true;
+                if (isLeaf.get(rootId)) {
+                    return true;
+                }
+            }
+            // 续写
+            charBuffer.position(charBuffer.limit()).limit(charBuffer.capacity());
+            while (true) {
+                // 撞墙
+                while (state[1] >= labelBitmap.size() || labelBitmap.get(state[1])) {
+                    // 到达根节点，遍历结束
+                    if (state[0] == rootId) {
+                        return false;
                     }
-                    if (isLeaf.get(state[0])) {
-                        charBuffer.flip();
-                        next = charBuffer.toString();
-                        return;
+                    // 回溯并向右转移
+                    if (moveUpAndRightWithBuffer(state, charBuffer, lengths.isEmpty() ? 0 : lengths.topInt())) {
+                        lengths.popInt();
                     }
                 }
+                // 向下转移
+                int length = moveDownWithBuffer(state, charBuffer);
+                if (length > 1) {
+                    lengths.push(length);
+                }
+                if (isLeaf.get(state[0])) {
+                    charBuffer.flip();
+                    return true;
+                }
             }
-        };
+        }
     }
 
     private int moveDownWithBuffer(int[] state, CharBuffer charBuffer) {
@@ -299,10 +349,9 @@ public class NestedSuccinctTrie implements SuccinctTrie {
         }
         state[0] = state[1] + 1 - state[0];
         if (linkId >= 0) {
-            String str = nestedTrie.get(linkId);
-            for (int i = str.length() - 1; i >= 0; i--) {
-                charBuffer.put(str.charAt(i));
-            }
+            // 下层保存的是反转后的片段，直接写入其反转结果，避免创建 String
+            nestedTrie.putKey(linkId, charBuffer);
+            reverse(charBuffer, pos, charBuffer.position());
             state[1] = labelBitmap.select1(state[0]) + 1;
             state[0] = state[1] + 1 - state[0];
         } else {
@@ -311,7 +360,34 @@ public class NestedSuccinctTrie implements SuccinctTrie {
         state[1] = labelBitmap.select1(state[0]) + 1;
         return charBuffer.position() - pos;
     }
-    
+
+    /**
+     * 将节点对应的键按正序写入缓冲区，与 {@link #get(int)} 结果相同
+     */
+    private void putKey(int nodeId, CharBuffer charBuffer) {
+        // 自底向上逐层写入得到逆序，最后整体反转；链接片段以下层键的正序写入，整体反转后恰为其反转
+        int start = charBuffer.position(), bitmapIndex, subNodeId = nodeId;
+        while ((bitmapIndex = labelBitmap.select0(nodeId)) >= 0) {
+            if (isLink != null && isLink.get(nodeId)) {
+                charBuffer.position(charBuffer.position() - 1);
+                nestedTrie.putKey(getLinkId(nodeId, subNodeId), charBuffer);
+            } else {
+                charBuffer.put(labels[nodeId - 1]);
+            }
+            subNodeId = nodeId;
+            nodeId = bitmapIndex + 1 - nodeId;
+        }
+        reverse(charBuffer, start, charBuffer.position());
+    }
+
+    private static void reverse(CharBuffer charBuffer, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            char c = charBuffer.get(i);
+            charBuffer.put(i, charBuffer.get(j));
+            charBuffer.put(j, c);
+        }
+    }
+
     private boolean moveUpAndRightWithBuffer(int[] state, CharBuffer charBuffer, int length) {
         state[1] = labelBitmap.select0(state[0]) + 1;
         boolean isLinkNode = isLink != null && isLink.get(state[0]);
@@ -325,40 +401,29 @@ public class NestedSuccinctTrie implements SuccinctTrie {
     }
 
     private int extract(String key) {
-        if (key.length() > buffer.capacity()) {
+        if (key.length() > maxLen) {
             return -1;
         }
-        buffer.append(key);
-        buffer.flip();
-        int pos;
+        // 查询状态均为局部变量，可被多线程并发调用
+        int pos = 0;
         int[] state = new int[2];
-        while (buffer.hasRemaining() && (pos = moveDown(state, buffer)) >= 0) {
-            buffer.position(pos);
-        }
-        buffer.clear();
+        while (pos < key.length() && (pos = moveDown(state, key, pos)) >= 0);
         return state[1] >= 0 ? state[0] : -1;
     }
 
-    private int moveDown(int[] state, char[] chars, int i) {
-        return moveDown(state, chars, chars.length, i);
-    }
-
-    private int moveDown(int[] state, CharBuffer buffer) {
-        return moveDown(state, buffer.array(), buffer.limit(), buffer.position());
-    }
-
-    private int moveDown(int[] state, char[] chars, int length, int i) {
+    private int moveDown(int[] state, String key, int i) {
+        int length = key.length();
         boolean isLinkNode = false;
         // 单个子节点
         if (labelBitmap.get(state[1] + 1)) {
             int labelIndex = state[1] - state[0];
             if (isLink != null && isLink.get(labelIndex + 1)) {
                 isLinkNode = true;
-            } else if (labels[labelIndex] != chars[i]) {
+            } else if (labels[labelIndex] != key.charAt(i)) {
                 state[1] = -1;
             }
         } else {
-            state[1] = labelSearch(state[0], state[1], chars[i], i < 2);
+            state[1] = labelSearch(state[0], state[1], key.charAt(i));
         }
         if (state[1] < 0) {
             return -1;
@@ -368,7 +433,7 @@ public class NestedSuccinctTrie implements SuccinctTrie {
             int index = labelBitmap.select1(state[0]) + 1, secondId = index + 1 - state[0];
             String str = nestedTrie.get(getLinkId(state[0], secondId));
             for (int j = str.length() - 1; j >= 0; j--) {
-                if (i >= length || str.charAt(j) != chars[i++]) {
+                if (i >= length || str.charAt(j) != key.charAt(i++)) {
                     return -1;
                 }
             }
@@ -382,31 +447,20 @@ public class NestedSuccinctTrie implements SuccinctTrie {
     }
 
     /**
-     * 搜索标签向下层转移
+     * 搜索标签向下层转移，按子节点个数（扇出）选择查找方式，参见 {@link LabelSearch}
      *
      * @param nodeId      当前节点ID
      * @param bitmapIndex 当前节点在 {@code labelBitmap} 中的起始下标
      * @param c           要搜索的标签
-     * @param bSearch     是否使用二分查找
      * @return 目标标签在 {@code labelBitmap} 中的下标，否则返回 -1
      */
-    private int labelSearch(int nodeId, int bitmapIndex, char c, boolean bSearch) {
-        if (bSearch) {
-            int high = labelBitmap.select1(nodeId + 1) - 1;
-            if (high >= labelBitmap.size() || labelBitmap.get(high)) {
-                return -1;
-            }
-            int index = Arrays.binarySearch(labels, bitmapIndex - nodeId, high - nodeId + 1, c);
-            return index < 0 ? -1 : index + nodeId;
-        } else {
-            while (bitmapIndex < labelBitmap.size() && !labelBitmap.get(bitmapIndex)) {
-                if (labels[bitmapIndex - nodeId] == c) {
-                    return bitmapIndex;
-                }
-                bitmapIndex++;
-            }
-            return -1;
+    private int labelSearch(int nodeId, int bitmapIndex, char c) {
+        int end = labelBitmap.nextSetBit(bitmapIndex);
+        if (end < 0) {
+            end = labelBitmap.size();
         }
+        int index = LabelSearch.indexOf(labels, bitmapIndex - nodeId, end - nodeId, c);
+        return index < 0 ? -1 : index + nodeId;
     }
 
     private int getLinkId(int firstId) {
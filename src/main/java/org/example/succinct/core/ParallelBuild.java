@@ -0,0 +1,116 @@
+package org.example.succinct.core;
+
+import org.example.succinct.common.Range;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * <p>按子树并行生成 LOUDS 编码，输出与单线程 BFS 逐位一致</p>
+ * BFS 中同一代（压缩后 Trie 的同一层）的节点按从左到右的顺序输出，且每个节点的输出只依赖其自身的键区间。
+ * 因此先顺序展开前几代，直到某一代的节点数足以分给各线程；再将这一代按键区间切分为若干段，
+ * 每段在线程池中独立做分层 BFS，得到每一代的局部输出；最后按代、按段依次拼接
+ */
+final class ParallelBuild {
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * 节点编码的输出目标，同时负责将子节点区间加入队列
+     */
+    interface Writer<W> {
+        void write(Range range, Queue<Range> children);
+
+        void append(W other);
+    }
+
+    private ParallelBuild() {
+    }
+
+    static <W extends Writer<W>> W build(int keyCount, Supplier<W> factory, ForkJoinPool pool) {
+        W out = factory.get();
+        Queue<Range> queue = new ArrayDeque<>();
+        queue.add(new Range(0, keyCount, 0));
+        int target = pool.getParallelism() * TASKS_PER_THREAD;
+        // 每轮恰好处理完一整代，保证队列中剩下的是同一代的全部节点
+        while (!queue.isEmpty() && queue.size() < target) {
+            for (int n = queue.size(); n > 0; n--) {
+                out.write(queue.poll(), queue);
+            }
+        }
+        if (queue.isEmpty()) {
+            return out;
+        }
+        List<ForkJoinTask<List<W>>> tasks = new ArrayList<>(target);
+        for (List<Range> chunk : split(queue, target)) {
+            tasks.add(pool.submit(() -> levels(chunk, factory)));
+        }
+        List<List<W>> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<List<W>> task : tasks) {
+            results.add(task.join());
+        }
+        for (int depth = 0, remain = results.size(); remain > 0; depth++) {
+            remain = 0;
+            for (List<W> levels : results) {
+                if (depth < levels.size()) {
+                    out.append(levels.get(depth));
+                    remain++;
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 对若干同代的根节点做分层 BFS，返回每一代的输出
+     */
+    private static <W extends Writer<W>> List<W> levels(List<Range> roots, Supplier<W> factory) {
+        List<W> levels = new ArrayList<>();
+        Queue<Range> current = new ArrayDeque<>(roots);
+        while (!current.isEmpty()) {
+            W level = factory.get();
+            Queue<Range> next = new ArrayDeque<>();
+            while (!current.isEmpty()) {
+                level.write(current.poll(), next);
+            }
+            levels.add(level);
+            current = next;
+        }
+        return levels;
+    }
+
+    /**
+     * 按键的个数将节点大致均分为 parts 段，保持原有顺序
+     */
+    private static List<List<Range>> split(Queue<Range> ranges, int parts) {
+        long total = 0;
+        for (Range range : ranges) {
+            total += weight(range);
+        }
+        long limit = (total + parts - 1) / parts, sum = 0;
+        List<List<Range>> chunks = new ArrayList<>(parts);
+        List<Range> chunk = new ArrayList<>();
+        for (Range range : ranges) {
+            chunk.add(range);
+            sum += weight(range);
+            if (sum >= limit) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                sum = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    // 压缩链上的中间节点区间为空，同样计为一个节点
+    private static int weight(Range range) {
+        return Math.max(1, range.R() - range.L());
+    }
+}
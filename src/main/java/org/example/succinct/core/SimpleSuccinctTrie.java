@@ -1,5 +1,6 @@
 package org.example.succinct.core;
 
+import it.unimi.dsi.bits.Fast;
 import org.example.succinct.api.SuccinctTrie;
 
 import java.nio.CharBuffer;
@@ -24,11 +25,10 @@ public class SimpleSuccinctTrie implements SuccinctTrie {
 
         Queue<Range> queue = new ArrayDeque<>();
         queue.add(new Range(0, keys.length, 0));
-        int bitPos = 0, nodeId = 0;
         while (!queue.isEmpty()) {
             Range range = queue.poll();
             int L = range.L, R = range.R, index = range.index;
-            isLeafBuilder.set(nodeId, keys[L].length() == index);
+            isLeafBuilder.append(keys[L].length() == index);
             // 处理子节点
             int start = L;
             while (start < R) {
@@ -45,15 +45,13 @@ public class SimpleSuccinctTrie implements SuccinctTrie {
                 // 添加子节点标签
                 labelsList.add(currentChar);
                 // 设置子节点标记(0)
-                // labelBitmapBuilder.set(bitPos, false);
-                bitPos++;
+                labelBitmapBuilder.append(false);
                 // 将子节点范围加入队列
                 queue.add(new Range(start, end, index + 1));
                 start = end;
             }
             // 设置节点结束标记(1)
-            labelBitmapBuilder.set(bitPos++, true);
-            nodeId++;
+            labelBitmapBuilder.appendOne();
         }
         // 转换并初始化位图
         this.labels = new char[labelsList.size()];
@@ -308,46 +306,63 @@ public class SimpleSuccinctTrie implements SuccinctTrie {
         private final long[] bits;
         private final int[] ranks;   // 预计算rank1
         private final int[] selects; // 部分预计算select1
+        private final int[] selects0; // 第 1 + j * GAP 个 0 所在的字下标
         public final int oneCount;
         public final int size;
 
         // 构建器模式
         public static class Builder {
-            private final List<Long> bits = new ArrayList<>();
+            private long[] bits = new long[16];
             private int size = 0;
             private int count = 0;
 
             public void set(int position, boolean value) {
                 ensureCapacity(position);
                 int block = position >> 6;
-                int offset = position & 0x3F;
-                long mask = 1L << offset;
-                long oldBlock = bits.get(block);
+                long mask = 1L << position;
+                long oldBlock = bits[block];
                 if (value) {
-                    bits.set(block, oldBlock | mask); // 设置位为1
+                    bits[block] = oldBlock | mask; // 设置位为1
                 } else {
-                    bits.set(block, oldBlock & ~mask); // 设置位为0
+                    bits[block] = oldBlock & ~mask; // 设置位为0
                 }
                 // 仅当位的值实际发生变化时更新计数器
                 if ((oldBlock & mask) == 0 == value) {
-                    count += value ? 1 : 0;
+                    count += value ? 1 : -1;
+                }
+            }
+
+            public void append(boolean value) {
+                if (value) {
+                    appendOne();
+                } else {
+                    appendZeros(1);
+                }
+            }
+
+            public void appendOne() {
+                int position = size;
+                ensureCapacity(position);
+                bits[position >> 6] |= 1L << position;
+                count++;
+            }
+
+            public void appendZeros(int n) {
+                if (n > 0) {
+                    ensureCapacity(size + n - 1);
                 }
             }
 
             private void ensureCapacity(int position) {
                 int requiredBlocks = (position >> 6) + 1;
-                while (bits.size() < requiredBlocks) {
-                    bits.add(0L);
+                if (requiredBlocks > bits.length) {
+                    bits = Arrays.copyOf(bits, Math.max(requiredBlocks, bits.length + (bits.length >> 1)));
                 }
                 size = Math.max(size, position + 1);
             }
 
             public BitVector build(boolean rankSelect) {
-                long[] array = new long[bits.size()];
-                for (int i = 0; i < bits.size(); i++) {
-                    array[i] = bits.get(i);
-                }
-                return new BitVector(array, size, count, rankSelect);
+                return new BitVector(Arrays.copyOf(bits, size + 63 >>> 6), size, count, rankSelect);
             }
         }
 
@@ -383,9 +398,18 @@ public class SimpleSuccinctTrie implements SuccinctTrie {
                 for (int i = 0; i < selectList.size(); i++) {
                     selects[i] = selectList.get(i);
                 }
+
+                this.selects0 = new int[(size - count + GAP - 1) / GAP];
+                for (int i = 0, j = 0; i < bits.length && j < selects0.length; i++) {
+                    // 前 i + 1 个字中 0 的个数超过第 j 个采样点时，该采样点落在第 i 个字
+                    while (j < selects0.length && ((i + 1) << 6) - ranks[i + 1] > j * GAP) {
+                        selects0[j++] = i;
+                    }
+                }
             } else {
                 this.ranks = null;
                 this.selects = null;
+                this.selects0 = null;
             }
         }
 
@@ -467,23 +491,31 @@ public class SimpleSuccinctTrie implements SuccinctTrie {
             return pos + 1 - rank1(pos);
         }
 
-        // 性能极差
+        /**
+         * 由采样定位第 k 个 0 所在字的区间，区间较小时线性扫描，否则二分查找，最后在字内做广义位运算 select
+         */
         public int select0(int k) {
-            if (k <= 0 || k > ranks[bits.length]) {
+            if (k <= 0 || k > size - oneCount) {
                 return -1;
             }
-            int low = 0, high = size - 1;
-            while (low <= high) {
-                int mid = (low + high) >>> 1;
-                // 计算[0, mid]区间内的0的个数
-                if (rank0(mid) < k) {
-                    low = mid + 1;
-                } else {
-                    high = mid - 1;
+            int j = (k - 1) / GAP;
+            int low = selects0[j], high = j + 1 < selects0.length ? selects0[j + 1] : bits.length - 1;
+            // 找到最后一个满足前缀 0 的个数 < k 的字
+            if (high - low > 8) {
+                while (low < high) {
+                    int mid = low + high + 1 >>> 1;
+                    if ((mid << 6) - ranks[mid] < k) {
+                        low = mid;
+                    } else {
+                        high = mid - 1;
+                    }
+                }
+            } else {
+                while (low < high && (low + 1 << 6) - ranks[low + 1] < k) {
+                    low++;
                 }
             }
-            // 满足rank0(low) >= k的最小位置即第k个0的位置
-            return low;
+            return (low << 6) + Fast.select(~bits[low], k - ((low << 6) - ranks[low]) - 1);
         }
     }
 }
@@ -0,0 +1,157 @@
+package org.example.succinct.core;
+
+import it.unimi.dsi.bits.LongArrayBitVector;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongBigList;
+import it.unimi.dsi.sux4j.util.EliasFanoMonotoneLongBigList;
+import org.example.succinct.api.SuccinctTrie;
+
+import java.nio.charset.Charset;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * <p>基于 {@link CharSuccinctTrie2} 或 {@link ByteSuccinctTrie2} 的只读映射：键 -> 非负 long 值</p>
+ * 键所在叶子节点的序号 {@code isLeaf.rank1(nodeId) - 1} 作为稠密下标，值按该下标存放在
+ * 定长位压缩数组或 Elias-Fano 单调序列中，内存只与键的个数相关，查询无装箱。
+ * 注意叶子序号按节点 ID（BFS）顺序而非字典序排列
+ */
+public class SuccinctMap {
+    public enum Encoding {
+        /**
+         * 每个值占用固定位数
+         */
+        PACKED,
+        /**
+         * 要求值按叶子序号单调不减，适合存放偏移量等递增序列
+         */
+        ELIAS_FANO
+    }
+
+    private final SuccinctTrie trie;
+    private final IntUnaryOperator leafRank;
+    private final LongBigList values;
+
+    public static SuccinctMap of(String[] keys, long[] values) {
+        return new Builder().build(keys, values);
+    }
+
+    public static class Builder {
+        private Charset charset;
+        private int bitsPerValue = 0;
+        private Encoding encoding = Encoding.PACKED;
+
+        /**
+         * 指定字符集时使用 {@link ByteSuccinctTrie2}，否则使用 {@link CharSuccinctTrie2}
+         */
+        public Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * 每个值占用的位数，仅对 {@link Encoding#PACKED} 生效，默认取最大值所需的位数
+         */
+        public Builder bitsPerValue(int bitsPerValue) {
+            if (bitsPerValue < 1 || bitsPerValue > 63) {
+                throw new IllegalArgumentException("bitsPerValue must be in [1, 63]: " + bitsPerValue);
+            }
+            this.bitsPerValue = bitsPerValue;
+            return this;
+        }
+
+        public Builder encoding(Encoding encoding) {
+            this.encoding = encoding;
+            return this;
+        }
+
+        /**
+         * @param keys   键，无需有序；重复键以最后一次出现的值为准
+         * @param values 与键一一对应的非负值
+         * @throws IllegalArgumentException 长度不一致、存在负值、位数不足或 Elias-Fano 序列不单调
+         */
+        public SuccinctMap build(String[] keys, long[] values) {
+            if (keys.length != values.length) {
+                throw new IllegalArgumentException("keys and values must have the same length");
+            }
+            IntUnaryOperator leafRank;
+            SuccinctTrie trie;
+            // 构建过程会原地排序，需保留原数组中键与值的对应关系
+            if (charset == null) {
+                CharSuccinctTrie2 t = CharSuccinctTrie2.of(keys.clone());
+                leafRank = t::leafRank;
+                trie = t;
+            } else {
+                ByteSuccinctTrie2 t = ByteSuccinctTrie2.of(keys.clone(), charset);
+                leafRank = t::leafRank;
+                trie = t;
+            }
+            long[] ranked = new long[trie.size()];
+            long max = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] < 0) {
+                    throw new IllegalArgumentException("Negative value for key " + keys[i] + ": " + values[i]);
+                }
+                ranked[leafRank.applyAsInt(trie.index(keys[i]))] = values[i];
+                max = Math.max(max, values[i]);
+            }
+            LongBigList list;
+            if (encoding == Encoding.ELIAS_FANO) {
+                for (int i = 1; i < ranked.length; i++) {
+                    if (ranked[i] < ranked[i - 1]) {
+                        throw new IllegalArgumentException("Values are not monotone in leaf order at rank " + i);
+                    }
+                }
+                list = new EliasFanoMonotoneLongBigList(LongArrayList.wrap(ranked));
+            } else {
+                int width = Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+                if (bitsPerValue > 0) {
+                    if (bitsPerValue < width) {
+                        throw new IllegalArgumentException(max + " does not fit in " + bitsPerValue + " bits");
+                    }
+                    width = bitsPerValue;
+                }
+                list = LongArrayBitVector.getInstance((long) ranked.length * width).asLongBigList(width);
+                list.size(ranked.length);
+                for (int i = 0; i < ranked.length; i++) {
+                    list.set(i, ranked[i]);
+                }
+            }
+            return new SuccinctMap(trie, leafRank, list);
+        }
+    }
+
+    private SuccinctMap(SuccinctTrie trie, IntUnaryOperator leafRank, LongBigList values) {
+        this.trie = trie;
+        this.leafRank = leafRank;
+        this.values = values;
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public SuccinctTrie trie() {
+        return trie;
+    }
+
+    public boolean containsKey(String key) {
+        return trie.contains(key);
+    }
+
+    /**
+     * @return 键对应的值，不存在时返回 -1
+     */
+    public long getLong(String key) {
+        return getLong(key, -1L);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        int nodeId = trie.index(key);
+        return nodeId < 0 ? defaultValue : values.getLong(leafRank.applyAsInt(nodeId));
+    }
+
+    @Override
+    public String toString() {
+        return "SuccinctMap[" + size() + " keys, " + trie + "]";
+    }
+}
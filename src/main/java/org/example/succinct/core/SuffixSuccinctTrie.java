@@ -0,0 +1,183 @@
+package org.example.succinct.core;
+
+import it.unimi.dsi.bits.LongArrayBitVector;
+import it.unimi.dsi.fastutil.longs.LongBigList;
+import org.apache.lucene.util.automaton.Automaton;
+import org.example.succinct.api.KeyVisitor;
+import org.example.succinct.api.SuccinctTrie;
+
+import java.util.Iterator;
+import java.util.stream.LongStream;
+
+/**
+ * <p>双向索引：在正向 {@link CharSuccinctTrie2} 之外，对逐字符反转后的键再建一棵 Trie，支持后缀查询</p>
+ * 以 X 结尾的键反转后以 X 的反转开头，在反向 Trie 中占据一段连续的字典序位置，
+ * 因此另外按反向字典序定宽位压缩存放每个键的正向字典序位置，即可将后缀查询的结果映射回正向的键序号。
+ * 按 char 而不是码点反转，代理对在反向 Trie 中同样被拆开，后缀按 char 匹配。其余查询均委托给正向 Trie
+ */
+public class SuffixSuccinctTrie implements SuccinctTrie {
+    private final CharSuccinctTrie2 forward;
+    private final CharSuccinctTrie2 reverse;
+    // 反向字典序位置 -> 正向字典序位置
+    private final LongBigList ordinals;
+
+    public static SuffixSuccinctTrie of(String... keys) {
+        String[] reversed = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            reversed[i] = reverse(keys[i]);
+        }
+        // 构建过程会原地排序，反转后的副本与原数组互不影响
+        return new SuffixSuccinctTrie(CharSuccinctTrie2.of(keys), CharSuccinctTrie2.of(reversed));
+    }
+
+    private SuffixSuccinctTrie(CharSuccinctTrie2 forward, CharSuccinctTrie2 reverse) {
+        int size = forward.size(), width = Math.max(1, 32 - Integer.numberOfLeadingZeros(size));
+        this.forward = forward;
+        this.reverse = reverse;
+        this.ordinals = LongArrayBitVector.getInstance((long) size * width).asLongBigList(width);
+        ordinals.size(size);
+        // 有序迭代反向 Trie，第 i 个键的反向字典序位置即为 i
+        Iterator<String> keys = reverse.iterator(true);
+        for (int i = 0; keys.hasNext(); i++) {
+            ordinals.set(i, forward.ordinal(reverse(keys.next())));
+        }
+    }
+
+    private static String reverse(CharSequence str) {
+        int length = str.length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[length - 1 - i] = str.charAt(i);
+        }
+        return new String(chars);
+    }
+
+    private static void reverse(char[] chars, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+        }
+    }
+
+    public CharSuccinctTrie2 forward() {
+        return forward;
+    }
+
+    /**
+     * 按反转后的字典序惰性返回以 suffix 结尾的所有键
+     */
+    public Iterator<String> suffixSearch(String suffix) {
+        Iterator<String> keys = reverse.prefixSearch(reverse(suffix));
+        return new TermIterator() {
+            {
+                advance();
+            }
+
+            @Override
+            protected void advance() {
+                next = keys.hasNext() ? reverse(keys.next()) : null;
+            }
+        };
+    }
+
+    /**
+     * 遍历以 suffix 结尾的所有键，顺序与 {@link #suffixSearch(String)} 相同，遍历过程中不创建 String
+     *
+     * @return 已访问的键数
+     */
+    public int suffixSearch(CharSequence suffix, KeyVisitor visitor) {
+        return reverse.prefixSearch(reverse(suffix), (chars, length) -> {
+            // 缓冲区在下一次回调前会被重新填充，原地反转不影响遍历
+            reverse(chars, length);
+            boolean more = visitor.visit(chars, length);
+            reverse(chars, length);
+            return more;
+        });
+    }
+
+    /**
+     * 以 suffix 结尾的所有键在正向 Trie 中的字典序位置（{@link CharSuccinctTrie2#ordinal}），
+     * 顺序与 {@link #suffixSearch(String)} 相同
+     */
+    public LongStream suffixOrdinals(String suffix) {
+        String prefix = reverse(suffix);
+        long start = reverse.prefixRank(prefix);
+        if (start < 0) {
+            return LongStream.empty();
+        }
+        return LongStream.range(start, start + reverse.prefixCount(prefix)).map(ordinals::getLong);
+    }
+
+    /**
+     * 以 suffix 结尾的键的个数，无需遍历
+     */
+    public long suffixCount(String suffix) {
+        return reverse.prefixCount(reverse(suffix));
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    @Override
+    public int nodeCount() {
+        return forward.nodeCount();
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return forward.contains(key);
+    }
+
+    @Override
+    public int index(String key) {
+        return forward.index(key);
+    }
+
+    @Override
+    public String get(int nodeId) {
+        return forward.get(nodeId);
+    }
+
+    @Override
+    public Iterator<String> iterator(boolean orderly) {
+        return forward.iterator(orderly);
+    }
+
+    @Override
+    public Iterator<String> prefixKeysOf(String str) {
+        return forward.prefixKeysOf(str);
+    }
+
+    @Override
+    public Iterator<String> prefixSearch(String prefix) {
+        return forward.prefixSearch(prefix);
+    }
+
+    @Override
+    public int prefixSearch(CharSequence prefix, KeyVisitor visitor) {
+        return forward.prefixSearch(prefix, visitor);
+    }
+
+    @Override
+    public int longestPrefixMatch(CharSequence text, int from) {
+        return forward.longestPrefixMatch(text, from);
+    }
+
+    @Override
+    public Iterator<String> intersect(Automaton automaton) {
+        return forward.intersect(automaton);
+    }
+
+    @Override
+    public int[] indexAll(String[] queries) {
+        return forward.indexAll(queries);
+    }
+
+    @Override
+    public String toString() {
+        return "SuffixSuccinctTrie[" + forward + ", " + reverse + "]";
+    }
+}
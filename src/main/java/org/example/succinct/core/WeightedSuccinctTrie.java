@@ -0,0 +1,148 @@
+package org.example.succinct.core;
+
+import it.unimi.dsi.bits.LongArrayBitVector;
+import it.unimi.dsi.fastutil.longs.LongBigList;
+import org.example.succinct.common.RangeMax;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <p>带权重的自动补全索引：基于 {@link CharSuccinctTrie2}，按权重从高到低返回前缀的前 k 个补全</p>
+ * 每个节点记录其子树中键的最大权重，按节点 ID（BFS 顺序）定宽位压缩存放。由于兄弟节点的 ID 连续，
+ * 在其上建立 {@link RangeMax} 即可找到一组兄弟中子树权重最大者。topK 采用最佳优先搜索：
+ * 优先队列中的每一项是一段兄弟区间，弹出时只展开区间内的最大者并将其余部分一分为二，
+ * 因此访问的节点数为 O(k·depth)，与前缀子树的大小无关
+ */
+public class WeightedSuccinctTrie {
+    private final CharSuccinctTrie2 trie;
+    private final LongBigList weights;
+    private final RangeMax subtreeMax;
+
+    /**
+     * @param keys    键，无需有序；重复键以最后一次出现的权重为准
+     * @param weights 与键一一对应的非负权重
+     * @throws IllegalArgumentException 长度不一致或存在负权重
+     */
+    public static WeightedSuccinctTrie of(String[] keys, long[] weights) {
+        if (keys.length != weights.length) {
+            throw new IllegalArgumentException("keys and weights must have the same length");
+        }
+        // 构建过程会原地排序，需保留原数组中键与权重的对应关系
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.of(keys.clone());
+        long[] leafWeights = new long[trie.size()];
+        long max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Negative weight for key " + keys[i] + ": " + weights[i]);
+            }
+            leafWeights[trie.leafRank(trie.index(keys[i]))] = weights[i];
+            max = Math.max(max, weights[i]);
+        }
+        // 子节点 ID 总是大于父节点，逆序遍历即可自底向上汇总子树最大权重
+        long[] nodeMax = new long[trie.nodeCount()];
+        for (int nodeId = nodeMax.length - 1; nodeId >= 0; nodeId--) {
+            if (trie.isLeafNode(nodeId)) {
+                nodeMax[nodeId] = Math.max(nodeMax[nodeId], leafWeights[trie.leafRank(nodeId)]);
+            }
+            if (nodeId > 0) {
+                int parent = trie.parent(nodeId);
+                nodeMax[parent] = Math.max(nodeMax[parent], nodeMax[nodeId]);
+            }
+        }
+        int width = Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+        return new WeightedSuccinctTrie(trie, pack(leafWeights, width), new RangeMax(pack(nodeMax, width)));
+    }
+
+    private static LongBigList pack(long[] values, int width) {
+        LongBigList list = LongArrayBitVector.getInstance((long) values.length * width).asLongBigList(width);
+        list.size(values.length);
+        for (int i = 0; i < values.length; i++) {
+            list.set(i, values[i]);
+        }
+        return list;
+    }
+
+    private WeightedSuccinctTrie(CharSuccinctTrie2 trie, LongBigList weights, RangeMax subtreeMax) {
+        this.trie = trie;
+        this.weights = weights;
+        this.subtreeMax = subtreeMax;
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public CharSuccinctTrie2 trie() {
+        return trie;
+    }
+
+    /**
+     * @return 键的权重，不存在时返回 -1
+     */
+    public long weight(String key) {
+        int nodeId = trie.index(key);
+        return nodeId < 0 ? -1 : weights.getLong(trie.leafRank(nodeId));
+    }
+
+    /**
+     * 以 prefix 开头的键中权重最大的 k 个，按权重从高到低排列，权重相同的键之间的顺序不作保证
+     */
+    public List<String> topK(String prefix, int k) {
+        List<String> result = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        int nodeId = trie.prefixNode(prefix);
+        if (k <= 0 || nodeId < 0) {
+            return result;
+        }
+        // 前缀止于压缩链中间时，链上后续节点（及其子树）同样是补全
+        int parent = trie.parent(nodeId);
+        int end = parent >= 0 && trie.isCompressNode(parent) ? trie.childEnd(parent) : nodeId + 1;
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        offer(queue, nodeId, end);
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate candidate = queue.poll();
+            int best = candidate.nodeId;
+            if (candidate.from < 0) {
+                result.add(trie.get(best));
+                continue;
+            }
+            offer(queue, candidate.from, best);
+            offer(queue, best + 1, candidate.to);
+            if (trie.isLeafNode(best)) {
+                queue.add(new Candidate(weights.getLong(trie.leafRank(best)), best, -1, -1));
+            }
+            offer(queue, trie.firstChild(best), trie.childEnd(best));
+        }
+        return result;
+    }
+
+    private void offer(PriorityQueue<Candidate> queue, int from, int to) {
+        int best = subtreeMax.argMax(from, to);
+        if (best >= 0) {
+            queue.add(new Candidate(subtreeMax.get(best), best, from, to));
+        }
+    }
+
+    /**
+     * 优先队列中的一项：兄弟区间 [from, to) 及其中子树权重最大的节点；from 为 -1 时表示该节点自身的键
+     */
+    private record Candidate(long weight, int nodeId, int from, int to) implements Comparable<Candidate> {
+        @Override
+        public int compareTo(Candidate o) {
+            if (weight != o.weight) {
+                return Long.compare(o.weight, weight);
+            }
+            // 同权重时先输出键本身，再展开子树
+            if ((from < 0) != (o.from < 0)) {
+                return from < 0 ? -1 : 1;
+            }
+            return Integer.compare(nodeId, o.nodeId);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WeightedSuccinctTrie[" + size() + " keys, " + trie + "]";
+    }
+}
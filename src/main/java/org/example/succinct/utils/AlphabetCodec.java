@@ -0,0 +1,245 @@
+package org.example.succinct.utils;
+
+import org.example.succinct.api.KeyCodec;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * <p>按键集统计的字母表编解码器：把实际出现的字符重新映射为稠密的 1~2 字节码，供字节 Trie 使用</p>
+ * 出现频率最高的字符各占一个单字节码，其余字符按首字节分组，每个首字节后跟一个字节区分组内的 256 个字符。
+ * 一部词典通常只用到几千个汉字，高频字只占一个字节，其余也只占两个字节，而 GB18030 的汉字固定两个字节、UTF-8 三个字节。
+ * <ul>
+ * <li>按频率编码：码按频率从高到低分配，单字节码最多，但字节序不再是字典序，有序迭代按频率序返回</li>
+ * <li>保序编码：码按字符顺序分配，字节序与 {@link String#compareTo} 一致；单字节码把字符序列切成若干段，
+ * 每段至少占一个首字节，因此单字节码比按频率编码少</li>
+ * </ul>
+ * 字节按有符号比较，与字节 Trie 的排序一致，第 k 个码字节取值为 {@code k - 128}。
+ * 查询中未出现在字母表里的字符统一编码为保留字节 {@value #UNKNOWN}，解码时替换为 U+FFFD；
+ * 构建时的键由 {@link #encodeKey} 编码，含有字母表之外的字符时拒绝构建，因此 Trie 中不会有这个标签，查询自然不命中。码表按 char 而不是码点统计，代理对的两半各自编码
+ */
+public final class AlphabetCodec implements KeyCodec {
+    public static final String NAME = "x-alphabet";
+    /**
+     * 保留给字母表之外字符的字节，有符号比较时最大
+     */
+    public static final byte UNKNOWN = Byte.MAX_VALUE;
+    private static final int CODES = 255;
+
+    // 按码的顺序排列的字符，widths[i] 为 symbols[i] 的码长（1 或 2）
+    private final char[] symbols;
+    private final char[] widths;
+    // 字符 -> 码长 << 16 | 码，0 表示不在字母表中
+    private final int[] codes;
+    // 单字节码 -> 字符，未分配的码为 U+FFFD
+    private final char[] singles = new char[256];
+    // 首字节 -> 组内第一个字符在 symbols 中的下标，-1 表示不是首字节
+    private final int[] leads = new int[256];
+
+    /**
+     * 按键中各字符出现的次数分配码
+     *
+     * @param ordered 是否保持字典序，有序迭代与前缀查询的顺序需要时使用
+     * @throws IllegalArgumentException 不同字符过多，两字节码无法容纳
+     */
+    public static AlphabetCodec of(String[] keys, boolean ordered) {
+        long[] counts = new long[Character.MAX_VALUE + 1];
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                counts[key.charAt(i)]++;
+            }
+        }
+        int n = 0;
+        for (long count : counts) {
+            n += count > 0 ? 1 : 0;
+        }
+        if (n > CODES * 256) {
+            throw new IllegalArgumentException("Too many distinct chars for a 2-byte alphabet: " + n);
+        }
+        // 字符按频率从高到低，频率相同时按字符顺序
+        Character[] byFrequency = new Character[n];
+        for (int c = 0, i = 0; c < counts.length; c++) {
+            if (counts[c] > 0) {
+                byFrequency[i++] = (char) c;
+            }
+        }
+        Arrays.sort(byFrequency, (a, b) -> Long.compare(counts[b], counts[a]));
+        char[] symbols = new char[n], widths = new char[n];
+        if (ordered) {
+            // 依次尝试把高频字符设为单字节码，只要单字节码与各段首字节的总数不超过码数
+            char[] sorted = new char[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = byFrequency[i];
+            }
+            Arrays.sort(sorted);
+            TreeSet<Integer> single = new TreeSet<>();
+            int cost = leads(n);
+            for (Character c : byFrequency) {
+                int pos = Arrays.binarySearch(sorted, c);
+                Integer lower = single.lower(pos), higher = single.higher(pos);
+                int from = lower == null ? 0 : lower + 1, to = higher == null ? n : higher;
+                int next = cost + 1 - leads(to - from) + leads(pos - from) + leads(to - pos - 1);
+                if (next <= CODES) {
+                    single.add(pos);
+                    cost = next;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                symbols[i] = sorted[i];
+                widths[i] = single.contains(i) ? (char) 1 : (char) 2;
+            }
+        } else {
+            int s = Math.min(n, CODES);
+            while (s + leads(n - s) > CODES) {
+                s--;
+            }
+            for (int i = 0; i < n; i++) {
+                symbols[i] = byFrequency[i];
+                widths[i] = i < s ? (char) 1 : (char) 2;
+            }
+        }
+        return new AlphabetCodec(symbols, widths);
+    }
+
+    private static int leads(int count) {
+        return count + 255 >>> 8;
+    }
+
+    /**
+     * 由 {@link #symbols()} 与 {@link #widths()} 还原码表
+     *
+     * @throws IllegalArgumentException 码表不合法
+     */
+    public AlphabetCodec(char[] symbols, char[] widths) {
+        if (symbols.length != widths.length) {
+            throw new IllegalArgumentException("Alphabet symbols and widths differ in length");
+        }
+        this.symbols = symbols;
+        this.widths = widths;
+        int max = 0;
+        for (char c : symbols) {
+            max = Math.max(max, c);
+        }
+        this.codes = new int[symbols.length == 0 ? 0 : max + 1];
+        Arrays.fill(singles, '\uFFFD');
+        Arrays.fill(leads, -1);
+        // 连续的两字节码共用首字节，组满 256 个或遇到单字节码时换下一个首字节
+        int code = 0, trail = 256;
+        for (int i = 0; i < symbols.length; i++) {
+            if (widths[i] == 1) {
+                singles[code] = symbols[i];
+                codes[symbols[i]] = 1 << 16 | code++ - 128 & 0xFF;
+                trail = 256;
+            } else if (widths[i] == 2) {
+                if (trail == 256) {
+                    leads[code++] = i;
+                    trail = 0;
+                }
+                codes[symbols[i]] = 2 << 16 | (code - 1 - 128 & 0xFF) << 8 | trail++ - 128 & 0xFF;
+            } else {
+                throw new IllegalArgumentException("Alphabet code width must be 1 or 2: " + (int) widths[i]);
+            }
+            if (code > CODES) {
+                throw new IllegalArgumentException("Alphabet needs more than " + CODES + " lead codes");
+            }
+        }
+    }
+
+    public char[] symbols() {
+        return symbols.clone();
+    }
+
+    public char[] widths() {
+        return widths.clone();
+    }
+
+    /**
+     * 单字节码的个数
+     */
+    public int singleCount() {
+        int count = 0;
+        for (char width : widths) {
+            count += 2 - width;
+        }
+        return count;
+    }
+
+    /**
+     * 不对应任何字符集
+     */
+    @Override
+    public Charset charset() {
+        return null;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int maxBytes(int length) {
+        return length * 2;
+    }
+
+    @Override
+    public int encode(CharSequence key, byte[] out, int off) {
+        int upto = off, length = key.length();
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            int code = c < codes.length ? codes[c] : 0;
+            if (code == 0) {
+                out[upto++] = UNKNOWN;
+            } else if (code >>> 16 == 1) {
+                out[upto++] = (byte) code;
+            } else {
+                out[upto++] = (byte) (code >>> 8);
+                out[upto++] = (byte) code;
+            }
+        }
+        return upto - off;
+    }
+
+    /**
+     * @throws IllegalArgumentException key 含有字母表之外的字符，例如码表由另一组键统计
+     */
+    @Override
+    public int encodeKey(CharSequence key, byte[] out, int off) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= codes.length || codes[c] == 0) {
+                throw new IllegalArgumentException(String.format("Char U+%04X is not in the alphabet: %s", (int) c, key));
+            }
+        }
+        return encode(key, out, off);
+    }
+
+    @Override
+    public int decode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        int i = off, end = off + len, upto = dstOff;
+        while (i < end) {
+            int code = src[i++] + 128, lead = leads[code];
+            if (lead < 0) {
+                dst[upto++] = singles[code];
+            } else if (i < end) {
+                int index = lead + src[i++] + 128;
+                dst[upto++] = index < symbols.length && widths[index] == 2 ? symbols[index] : '\uFFFD';
+            } else {
+                dst[upto++] = '\uFFFD';
+            }
+        }
+        return upto - dstOff;
+    }
+
+    @Override
+    public String decode(byte[] src, int off, int len) {
+        char[] chars = new char[len];
+        return new String(chars, 0, decode(src, off, len, chars, 0));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AlphabetCodec[%d symbols, %d single-byte]", symbols.length, singleCount());
+    }
+}
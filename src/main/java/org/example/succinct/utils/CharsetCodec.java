@@ -0,0 +1,107 @@
+package org.example.succinct.utils;
+
+import org.example.succinct.api.KeyCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 基于 {@link CharsetEncoder} 与 {@link CharsetDecoder} 的通用编解码器，适用于 GB18030 等没有快速实现的字符集。
+ * JDK 的编解码器本身非线程安全，每个线程持有独立的实例。编码时先把键复制到线程独占的 char 数组，
+ * 让编码器走基于数组的快速路径（包装 String 的 CharBuffer 没有底层数组，只能逐个 get），再直接写入调用方的数组
+ */
+public final class CharsetCodec implements KeyCodec {
+    private final Charset charset;
+    private final int maxBytesPerChar;
+    private final ThreadLocal<Encoder> encoders;
+    private final ThreadLocal<CharsetDecoder> decoders;
+
+    public CharsetCodec(Charset charset) {
+        this.charset = charset;
+        this.maxBytesPerChar = (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+        this.encoders = ThreadLocal.withInitial(() -> new Encoder(charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)));
+        this.decoders = ThreadLocal.withInitial(() -> charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    }
+
+    @Override
+    public Charset charset() {
+        return charset;
+    }
+
+    @Override
+    public int maxBytes(int length) {
+        return length * maxBytesPerChar;
+    }
+
+    /**
+     * @throws IllegalArgumentException out 的剩余空间不足 {@link #maxBytes(int) maxBytes(key.length())}
+     */
+    @Override
+    public int encode(CharSequence key, byte[] out, int off) {
+        Encoder state = encoders.get();
+        CharsetEncoder encoder = state.encoder.reset();
+        ByteBuffer bytes = state.wrap(out, off);
+        CoderResult result = encoder.encode(state.wrap(key), bytes, true);
+        if (result.isUnderflow()) {
+            result = encoder.flush(bytes);
+        }
+        if (result.isOverflow()) {
+            throw new IllegalArgumentException("Output buffer too small to encode: " + key);
+        }
+        return bytes.position() - off;
+    }
+
+    @Override
+    public int decode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        CharsetDecoder decoder = decoders.get().reset();
+        CharBuffer chars = CharBuffer.wrap(dst, dstOff, dst.length - dstOff);
+        decoder.decode(ByteBuffer.wrap(src, off, len), chars, true);
+        decoder.flush(chars);
+        return chars.position() - dstOff;
+    }
+
+    /**
+     * 线程独占的编码器与缓冲区；调用方通常每次传入同一个输出数组（如 Trie 的线程缓冲区），此时复用其包装
+     */
+    private static final class Encoder {
+        final CharsetEncoder encoder;
+        CharBuffer chars = CharBuffer.allocate(16);
+        ByteBuffer bytes = ByteBuffer.allocate(0);
+
+        Encoder(CharsetEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        CharBuffer wrap(CharSequence key) {
+            int length = key.length();
+            if (chars.capacity() < length) {
+                chars = CharBuffer.allocate(Math.max(length, chars.capacity() << 1));
+            }
+            char[] array = chars.array();
+            if (key instanceof String str) {
+                str.getChars(0, length, array, 0);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    array[i] = key.charAt(i);
+                }
+            }
+            return chars.limit(length).position(0);
+        }
+
+        ByteBuffer wrap(byte[] out, int off) {
+            if (bytes.array() != out) {
+                bytes = ByteBuffer.wrap(out);
+            }
+            return bytes.limit(out.length).position(off);
+        }
+    }
+}
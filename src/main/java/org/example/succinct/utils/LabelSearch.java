@@ -0,0 +1,42 @@
+package org.example.succinct.utils;
+
+import java.util.Arrays;
+
+/**
+ * <p>在一个节点的子节点标签区间中查找标签，区间内的标签升序排列</p>
+ * 按区间长度（扇出）选择查找方式：扇出很小时逐个比较；否则在运行时启用了 {@code jdk.incubator.vector}
+ * 模块（{@code --add-modules jdk.incubator.vector}）时，先二分缩小到几个向量宽的窗口再整向量比较，
+ * 未启用时退化为二分查找。向量实现放在单独的类中，未启用该模块时不会被加载
+ */
+public final class LabelSearch {
+    /**
+     * 扇出小于该值时逐个比较
+     */
+    public static final int SCALAR_LIMIT = 8;
+    /**
+     * 运行时是否可用 Vector API
+     */
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private LabelSearch() {
+    }
+
+    /**
+     * @return 标签 c 在 [from, to) 中的下标，不存在时返回 -1
+     */
+    public static int indexOf(char[] labels, int from, int to, char c) {
+        if (to - from < SCALAR_LIMIT) {
+            for (int i = from; i < to; i++) {
+                if (labels[i] == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        if (VECTORIZED) {
+            return VectorLabelSearch.indexOf(labels, from, to, c);
+        }
+        int index = Arrays.binarySearch(labels, from, to, c);
+        return index < 0 ? -1 : index;
+    }
+}
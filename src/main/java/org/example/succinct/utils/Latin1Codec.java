@@ -0,0 +1,52 @@
+package org.example.succinct.utils;
+
+import org.example.succinct.api.KeyCodec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 无状态的 ISO-8859-1 编解码器：每个字符一个字节，超出范围的字符（代理对视为一个字符）替换为 '?'
+ */
+public final class Latin1Codec implements KeyCodec {
+    public static final Latin1Codec INSTANCE = new Latin1Codec();
+
+    private Latin1Codec() {
+    }
+
+    @Override
+    public Charset charset() {
+        return StandardCharsets.ISO_8859_1;
+    }
+
+    @Override
+    public int maxBytes(int length) {
+        return length;
+    }
+
+    @Override
+    public int encode(CharSequence key, byte[] out, int off) {
+        int length = key.length(), upto = off;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c <= 0xFF) {
+                out[upto++] = (byte) c;
+            } else {
+                // 与 JDK 一致：代理对作为一个字符只替换一次
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    i++;
+                }
+                out[upto++] = '?';
+            }
+        }
+        return upto - off;
+    }
+
+    @Override
+    public int decode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (char) (src[off + i] & 0xFF);
+        }
+        return len;
+    }
+}
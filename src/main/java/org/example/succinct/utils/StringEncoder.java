@@ -22,6 +22,15 @@ public class StringEncoder {
         this.charBuffer = CharBuffer.allocate(16);
     }
 
+    /**
+     * 按最大字符串长度预分配缓冲区，此后长度不超过 {@code maxLength} 的字符串均无需扩容
+     */
+    public StringEncoder(Charset charset, int maxLength) {
+        this(charset);
+        this.charBuffer = CharBuffer.allocate(Math.max(maxLength, 1));
+        this.byteBuffer = ByteBuffer.allocate(Math.max(maxBytes(maxLength), 1));
+    }
+
     public Charset charset() {
         return encoder.charset();
     }
@@ -30,7 +39,7 @@ public class StringEncoder {
         return byteBuffer;
     }
 
-    public int maxBytes(int length) {
+    public final int maxBytes(int length) {
         return (int) (length * encoder.maxBytesPerChar());
     }
 
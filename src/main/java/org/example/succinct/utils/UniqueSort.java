@@ -1,128 +1,296 @@
 package org.example.succinct.utils;
 
+import java.io.Serial;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-public class UniqueSort {
+/**
+ * <p>构建 Trie 前的键预处理：原地排序并去重</p>
+ * 采用 MSD 基数排序：每轮按键的一个字节（char 拆为高、低两个字节）分入 257 个桶，0 号桶存放在该位置结束的键，
+ * 桶内元素通过循环置换原地归位（American flag sort），不需要辅助数组；桶较小时改用多关键字快速排序。
+ * 各个桶互不相关，给定线程池时较大的桶作为子任务并行排序。排序后相等的键相邻，一次线性扫描即可完成去重。
+ * <p>
+ * 去重只交换元素，数组始终是输入的一个排列：前 n 个为有序且唯一的键，其余为被剔除的重复键。
+ * char 键的顺序与 {@link String#compareTo} 一致；byte 键按有符号字节比较，与 {@code ByteSuccinctTrie2} 一致
+ */
+public final class UniqueSort {
+    /**
+     * 小于该值的桶改用多关键字快速排序
+     */
+    private static final int RADIX_THRESHOLD = 256;
+    private static final int INSERTION_THRESHOLD = 16;
+    /**
+     * 不小于该值的桶作为独立的子任务
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private UniqueSort() {
+    }
 
     /**
      * 原地排序并去重字符串数组
-     * 
+     *
      * @param arr 字符串数组
      * @return 去重后的新长度
      */
     public static int sort(String[] arr) {
-        if (arr == null || arr.length == 0) {
-            return 0;
-        }
-        return markAndSort(arr, 0, arr.length - 1);
+        return sort(arr, null);
     }
 
     /**
-     * 改良版快速排序，在排序过程中去重
+     * @param pool 执行排序的线程池，为 null 时在当前线程排序
      */
-    private static int markAndSort(String[] arr, int left, int right) {
-        if (left >= right) {
-            return 1; // 单个元素直接返回
-        }
-
-        // 随机选择基准元素，避免有序序列的性能退化
-        int random = left + (int)(Math.random() * (right - left + 1));
-        swap(arr, left, random);
-
-        // 三路快排分区：将数组分为 < pivot, == pivot, > pivot 三部分
-        String pivot = arr[left];
-        int lt = left; // 小于pivot的右边界
-        int gt = right; // 大于pivot的左边界
-        int i = left + 1; // 当前处理位置
-
-        while (i <= gt) {
-            int cmp = arr[i].compareTo(pivot);
-
-            if (cmp < 0) {
-                // 小于pivot，交换到左侧
-                swap(arr, lt++, i++);
-            } else if (cmp > 0) {
-                // 大于pivot，交换到右侧
-                swap(arr, i, gt--);
-            } else {
-                // 等于pivot，标记为重复（设置为null）
-                arr[i] = null;
-                i++;
-            }
-        }
+    public static int sort(String[] arr, ForkJoinPool pool) {
+        return arr == null ? 0 : new CharSorter(arr).run(pool);
+    }
 
-        // 递归处理左右两部分
-        int leftCount = lt > left ? markAndSort(arr, left, lt - 1) : 0;
-        int rightCount = gt < right ? markAndSort(arr, gt + 1, right) : 0;
+    public static int sort(byte[][] arr) {
+        return sort(arr, null);
+    }
 
-        // 将唯一元素紧凑排列到数组前部
-        return mergeAndDeduplicate(arr, left, lt, gt, right, leftCount, rightCount, pivot);
+    public static int sort(byte[][] arr, ForkJoinPool pool) {
+        return arr == null ? 0 : new ByteSorter(arr).run(pool);
     }
 
     /**
-     * 紧凑排列唯一元素并合并结果
+     * 原地排序并去重，存在重复键时返回截断后的副本，否则返回原数组
      */
-    private static int mergeAndDeduplicate(String[] arr, int left, int lt, int gt,
-            int right, int leftCount, int rightCount, String pivot) {
-        // 放置pivot元素
-        int pivotPos = left + leftCount;
-        arr[pivotPos] = pivot;
-
-        // 将右分区的唯一元素移动到pivot后面
-        if (gt != pivotPos && rightCount > 0) {
-            System.arraycopy(arr, gt + 1, arr, pivotPos + 1, rightCount);
-        }
+    public static String[] unique(String[] arr, ForkJoinPool pool) {
+        int n = sort(arr, pool);
+        return n < arr.length ? Arrays.copyOf(arr, n) : arr;
+    }
 
-        return leftCount + 1 + rightCount; // 左分区唯一数 + pivot + 右分区唯一数
+    public static String[] unique(String[] arr) {
+        return unique(arr, null);
     }
 
-    /**
-     * 交换数组元素
-     */
-    private static void swap(String[] arr, int i, int j) {
-        String temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
+    public static byte[][] unique(byte[][] arr, ForkJoinPool pool) {
+        int n = sort(arr, pool);
+        return n < arr.length ? Arrays.copyOf(arr, n) : arr;
     }
 
-    // 测试代码
-    public static void main(String[] args) {
-        // 生成测试数据
-        int size = 1000000;
-        String[] testData = StringGenerateUtil.randomArray(size, 2, 8, 0.0f);
-
-        // 测试改良算法
-        String[] copy1 = testData.clone();
-        long start1 = System.currentTimeMillis();
-        int length1 = sort(copy1);
-        long end1 = System.currentTimeMillis();
-
-        // 测试传统方法（排序+去重）
-        String[] copy2 = testData;
-        long start2 = System.currentTimeMillis();
-        Arrays.sort(copy2);
-        long end2 = System.currentTimeMillis();
-        int length2 = removeDuplicatesTraditional(copy2);
-
-        System.out.println("性能测试 (" + size + " 个元素):");
-        System.out.println("改良算法: " + (end1 - start1) + "ms, 去重后长度: " + length1);
-        System.out.println("传统方法: " + (end2 - start2) + "ms, 去重后长度: " + length2);
-        System.out.println("匹配结果: " + Arrays.equals(copy1, 0, length1, copy2, 0, length2));
+    public static byte[][] unique(byte[][] arr) {
+        return unique(arr, null);
     }
 
-    /**
-     * 传统去重方法用于对比
-     */
-    private static int removeDuplicatesTraditional(String[] sortedArray) {
-        if (sortedArray.length == 0)
-            return 0;
-
-        int uniqueCount = 1;
-        for (int i = 1; i < sortedArray.length; i++) {
-            if (!sortedArray[i].equals(sortedArray[uniqueCount - 1])) {
-                sortedArray[uniqueCount++] = sortedArray[i];
+    private static final class CharSorter extends Sorter<String> {
+        CharSorter(String[] keys) {
+            super(keys);
+        }
+
+        @Override
+        int digit(String key, int pos) {
+            int i = pos >>> 1;
+            if (i >= key.length()) {
+                return -1;
+            }
+            char c = key.charAt(i);
+            return (pos & 1) == 0 ? c >>> 8 : c & 0xFF;
+        }
+
+        @Override
+        boolean equal(String a, String b) {
+            return a.equals(b);
+        }
+    }
+
+    private static final class ByteSorter extends Sorter<byte[]> {
+        ByteSorter(byte[][] keys) {
+            super(keys);
+        }
+
+        @Override
+        int digit(byte[] key, int pos) {
+            // 偏移 128 使无符号的桶序与有符号字节序一致
+            return pos < key.length ? key[pos] + 128 : -1;
+        }
+
+        @Override
+        boolean equal(byte[] a, byte[] b) {
+            return Arrays.equals(a, b);
+        }
+    }
+
+    private abstract static class Sorter<K> {
+        final K[] keys;
+
+        Sorter(K[] keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * 键在第 pos 个字节上的值 [0, 255]，键在此之前结束时返回 -1
+         */
+        abstract int digit(K key, int pos);
+
+        abstract boolean equal(K a, K b);
+
+        int run(ForkJoinPool pool) {
+            int n = keys.length;
+            if (n < 2) {
+                return n;
+            }
+            if (pool == null) {
+                radix(0, n, 0, false);
+            } else {
+                pool.invoke(new Task(0, n, 0));
+            }
+            int unique = 1;
+            for (int i = 1; i < n; i++) {
+                if (!equal(keys[i], keys[unique - 1])) {
+                    swap(unique++, i);
+                }
+            }
+            return unique;
+        }
+
+        private final class Task extends RecursiveAction {
+            @Serial
+            private static final long serialVersionUID = 1L;
+            private final int lo, hi, pos;
+
+            Task(int lo, int hi, int pos) {
+                this.lo = lo;
+                this.hi = hi;
+                this.pos = pos;
+            }
+
+            @Override
+            protected void compute() {
+                radix(lo, hi, pos, true);
+            }
+        }
+
+        private void radix(int lo, int hi, int pos, boolean parallel) {
+            if (hi - lo < RADIX_THRESHOLD) {
+                multikey(lo, hi, pos);
+                return;
+            }
+            int[] start = new int[258];
+            // 所有键落入同一个桶（公共前缀）时直接进入下一个字节，不做置换
+            while (true) {
+                Arrays.fill(start, 0);
+                for (int i = lo; i < hi; i++) {
+                    start[digit(keys[i], pos) + 2]++;
+                }
+                if (start[1] == hi - lo) {
+                    return; // 全部在此结束，彼此相等
+                }
+                int b = 2;
+                while (start[b] == 0) b++;
+                if (start[b] < hi - lo) {
+                    break;
+                }
+                pos++;
             }
+            start[0] = lo;
+            for (int b = 1; b < start.length; b++) {
+                start[b] += start[b - 1];
+            }
+            int[] next = Arrays.copyOf(start, 257);
+            for (int b = 0; b < 257; b++) {
+                int end = start[b + 1];
+                while (next[b] < end) {
+                    K key = keys[next[b]];
+                    int d = digit(key, pos) + 1;
+                    while (d != b) {
+                        int j = next[d]++;
+                        K t = keys[j];
+                        keys[j] = key;
+                        key = t;
+                        d = digit(key, pos) + 1;
+                    }
+                    keys[next[b]++] = key;
+                }
+            }
+            // 0 号桶中的键在此结束，无需继续
+            List<Task> tasks = parallel ? new ArrayList<>() : null;
+            for (int b = 1; b < 257; b++) {
+                int from = start[b], to = start[b + 1];
+                if (to - from < 2) {
+                    continue;
+                }
+                if (parallel && to - from >= PARALLEL_THRESHOLD) {
+                    Task task = new Task(from, to, pos + 1);
+                    task.fork();
+                    tasks.add(task);
+                } else {
+                    radix(from, to, pos + 1, false);
+                }
+            }
+            if (parallel) {
+                for (Task task : tasks) {
+                    task.join();
+                }
+            }
+        }
+
+        /**
+         * 多关键字（三路基数）快速排序，相等部分直接进入下一个字节
+         */
+        private void multikey(int lo, int hi, int pos) {
+            while (hi - lo > 1) {
+                if (hi - lo < INSERTION_THRESHOLD) {
+                    insertion(lo, hi, pos);
+                    return;
+                }
+                int v = digit(keys[median(lo, lo + (hi - lo >>> 1), hi - 1, pos)], pos);
+                int lt = lo, gt = hi - 1, i = lo;
+                while (i <= gt) {
+                    int d = digit(keys[i], pos);
+                    if (d < v) {
+                        swap(lt++, i++);
+                    } else if (d > v) {
+                        swap(i, gt--);
+                    } else {
+                        i++;
+                    }
+                }
+                multikey(lo, lt, pos);
+                multikey(gt + 1, hi, pos);
+                if (v < 0) {
+                    return;
+                }
+                lo = lt;
+                hi = gt + 1;
+                pos++;
+            }
+        }
+
+        private int median(int a, int b, int c, int pos) {
+            int x = digit(keys[a], pos), y = digit(keys[b], pos), z = digit(keys[c], pos);
+            return x < y ? (y < z ? b : x < z ? c : a) : (x < z ? a : y < z ? c : b);
+        }
+
+        private void insertion(int lo, int hi, int pos) {
+            for (int i = lo + 1; i < hi; i++) {
+                K key = keys[i];
+                int j = i;
+                while (j > lo && compare(keys[j - 1], key, pos) > 0) {
+                    keys[j] = keys[j - 1];
+                    j--;
+                }
+                keys[j] = key;
+            }
+        }
+
+        // 两个键的前 pos 个字节已知相等
+        private int compare(K a, K b, int pos) {
+            while (true) {
+                int x = digit(a, pos), y = digit(b, pos++);
+                if (x != y || x < 0) {
+                    return x - y;
+                }
+            }
+        }
+
+        private void swap(int i, int j) {
+            K t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
         }
-        return uniqueCount;
     }
-}
\ No newline at end of file
+}
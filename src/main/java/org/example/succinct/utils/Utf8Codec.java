@@ -0,0 +1,92 @@
+package org.example.succinct.utils;
+
+import org.example.succinct.api.KeyCodec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 无状态的 UTF-8 编解码器。编码时孤立的代理字符替换为 '?'，与 JDK 的编码器一致；
+ * Trie 中的键都由 {@link #encode} 产生，解码时遇到的非法字节只需逐个替换为 U+FFFD
+ */
+public final class Utf8Codec implements KeyCodec {
+    public static final Utf8Codec INSTANCE = new Utf8Codec();
+    /**
+     * 各长度序列可表示的最小码点，小于该值为过长编码
+     */
+    private static final int[] MIN = { 0, 0x80, 0x800, 0x10000 };
+
+    private Utf8Codec() {
+    }
+
+    @Override
+    public Charset charset() {
+        return StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public int maxBytes(int length) {
+        // 代理对占两个字符、编码为 4 个字节
+        return length * 3;
+    }
+
+    @Override
+    public int encode(CharSequence key, byte[] out, int off) {
+        int upto = off, length = key.length();
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                out[upto++] = (byte) c;
+            } else if (c < 0x800) {
+                out[upto++] = (byte) (0xC0 | c >> 6);
+                out[upto++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                out[upto++] = (byte) (0xE0 | c >> 12);
+                out[upto++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[upto++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(key.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, key.charAt(++i));
+                out[upto++] = (byte) (0xF0 | cp >> 18);
+                out[upto++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                out[upto++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                out[upto++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                out[upto++] = '?';
+            }
+        }
+        return upto - off;
+    }
+
+    @Override
+    public int decode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        int i = off, end = off + len, upto = dstOff;
+        while (i < end) {
+            int b = src[i];
+            if (b >= 0) {
+                dst[upto++] = (char) b;
+                i++;
+                continue;
+            }
+            // 后续字节数及首字节的有效位
+            int n = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : (b & 0xF8) == 0xF0 ? 3 : 0;
+            int cp = b & 0x3F >> n, j = 1;
+            while (j <= n && i + j < end && (src[i + j] & 0xC0) == 0x80) {
+                cp = cp << 6 | src[i + j++] & 0x3F;
+            }
+            if (n == 0 || j <= n || cp < MIN[n] || cp > Character.MAX_CODE_POINT
+                    || n == 2 && Character.isSurrogate((char) cp)) {
+                dst[upto++] = '\uFFFD';
+                i++;
+            } else {
+                if (n == 3) {
+                    dst[upto++] = Character.highSurrogate(cp);
+                    dst[upto++] = Character.lowSurrogate(cp);
+                } else {
+                    dst[upto++] = (char) cp;
+                }
+                i += n + 1;
+            }
+        }
+        return upto - dstOff;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.succinct.utils;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 标签查找的 Vector API 实现：char 按 short 逐位比较，每条指令比较一个向量宽的标签
+ * （AVX2 下 16 个，AVX-512 下 32 个）
+ */
+final class VectorLabelSearch {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    /**
+     * 二分查找将区间缩小到不超过该数量的向量后，改为整向量比较
+     */
+    private static final int WINDOW = 4 * LANES;
+
+    private VectorLabelSearch() {
+    }
+
+    static int indexOf(char[] labels, int from, int to, char c) {
+        while (to - from > WINDOW) {
+            int mid = from + to >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                from = mid + 1;
+            } else if (label > c) {
+                to = mid;
+            } else {
+                return mid;
+            }
+        }
+        short key = (short) c;
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            VectorMask<Short> match = ShortVector.fromCharArray(SPECIES, labels, i).eq(key);
+            if (match.anyTrue()) {
+                return i + match.firstTrue();
+            }
+        }
+        if (i < to) {
+            // 末尾不足一个向量时按掩码读取，不会越过区间
+            VectorMask<Short> range = SPECIES.indexInRange(i, to);
+            VectorMask<Short> match = ShortVector.fromCharArray(SPECIES, labels, i, range).eq(key).and(range);
+            if (match.anyTrue()) {
+                return i + match.firstTrue();
+            }
+        }
+        return -1;
+    }
+}
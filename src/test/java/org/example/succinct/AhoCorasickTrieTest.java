@@ -0,0 +1,75 @@
+package org.example.succinct;
+
+import org.example.succinct.core.AhoCorasickTrie;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class AhoCorasickTrieTest {
+
+    @Test
+    public void scanTest() {
+        // 小字母表使键之间大量互为后缀
+        Random random = new Random(42);
+        String[] keys = new String[2000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomString(random, "abc", 1 + random.nextInt(8));
+        }
+        assertScan(keys, randomString(random, "abcd", 20000));
+
+        String[] words = StringGenerateUtil.randomArray(5000, 1, 4, 0.5f);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append(words[random.nextInt(words.length)]);
+        }
+        assertScan(words, text.toString());
+        // 压缩链中间的键、空串
+        assertScan(new String[]{ "", "abcdefg", "abc", "cde", "bcdx", "d" }, "xabcdefgabcdxcde");
+    }
+
+    @Test
+    public void stopTest() {
+        AhoCorasickTrie trie = AhoCorasickTrie.of("a", "aa");
+        List<String> hits = new ArrayList<>();
+        assertEquals(2, trie.scan("aaaa", (start, end, nodeId) -> hits.add(trie.trie().get(nodeId)) && hits.size() < 2));
+        assertEquals(List.of("a", "aa"), hits);
+    }
+
+    private static void assertScan(String[] keys, String text) {
+        Set<String> set = new HashSet<>(Arrays.asList(keys));
+        int maxLen = set.stream().mapToInt(String::length).max().orElse(0);
+        List<String> expected = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            for (int start = Math.max(0, end - maxLen); start < end; start++) {
+                if (set.contains(text.substring(start, end))) {
+                    expected.add(start + ":" + end);
+                }
+            }
+        }
+        AhoCorasickTrie trie = new AhoCorasickTrie(CharSuccinctTrie2.of(keys.clone()));
+        List<String> actual = new ArrayList<>();
+        int count = trie.scan(text, (start, end, nodeId) -> {
+            assertEquals(text.substring(start, end), trie.trie().get(nodeId));
+            return actual.add(start + ":" + end);
+        });
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), count);
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+}
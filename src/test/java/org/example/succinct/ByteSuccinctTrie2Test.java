@@ -0,0 +1,47 @@
+package org.example.succinct;
+
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class ByteSuccinctTrie2Test {
+    static final int COUNT = 20000;
+
+    @Test
+    public void rawBytesTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(Arrays.copyOf(queries, COUNT / 2), StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        byte[] out = new byte[64];
+        for (String query : queries) {
+            byte[] bytes = query.getBytes(StandardCharsets.UTF_8);
+            int expected = trie.index(query);
+            assertEquals(query, expected, trie.index(bytes, 0, bytes.length));
+            // 键位于更大数组的中间
+            byte[] padded = new byte[bytes.length + 6];
+            System.arraycopy(bytes, 0, padded, 3, bytes.length);
+            assertEquals(query, expected, trie.index(padded, 3, bytes.length));
+            direct.clear().position(5);
+            direct.put(bytes).flip().position(5);
+            assertEquals(query, expected, trie.index(direct));
+            assertEquals(5, direct.position());
+            if (expected >= 0) {
+                assertEquals(bytes.length, trie.get(expected, out, 1));
+                assertArrayEquals(bytes, Arrays.copyOfRange(out, 1, 1 + bytes.length));
+            }
+        }
+        // 非叶子节点不写入
+        ByteBuffer heap = ByteBuffer.allocate(64);
+        for (int nodeId = 0; nodeId < trie.nodeCount(); nodeId++) {
+            String key = trie.get(nodeId);
+            int length = trie.get(nodeId, heap.clear());
+            assertEquals(key == null ? -1 : key.getBytes(StandardCharsets.UTF_8).length, length);
+        }
+    }
+}
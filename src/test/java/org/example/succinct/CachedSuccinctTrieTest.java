@@ -0,0 +1,82 @@
+package org.example.succinct;
+
+import org.example.succinct.core.CachedSuccinctTrie;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CachedSuccinctTrieTest {
+    static final int COUNT = 20000;
+
+    @Test
+    public void indexTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.of(Arrays.copyOf(queries, COUNT / 2));
+        CachedSuccinctTrie cached = new CachedSuccinctTrie(trie, 256);
+        Random random = new Random(42);
+        for (int i = 0; i < COUNT * 10; i++) {
+            // 少量热点查询与大量冷门查询混合，热点中一半不存在
+            String query = random.nextInt(10) < 8 ? queries[random.nextInt(32) * (COUNT / 64)] : queries[random.nextInt(COUNT)];
+            assertEquals(query, trie.index(query), cached.index(query));
+            assertEquals(query, trie.contains(query), cached.contains(query));
+        }
+        assertEquals(COUNT * 20, cached.hitCount() + cached.missCount());
+        assertTrue("hit rate " + cached.hitRate(), cached.hitRate() > 0.7);
+        cached.resetStats();
+        assertEquals(0, cached.hitRate(), 0);
+    }
+
+    @Test
+    public void admissionTest() {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 8, 8, 0.0f);
+        CachedSuccinctTrie cached = new CachedSuccinctTrie(CharSuccinctTrie2.of(keys.clone()), 64);
+        String hot = keys[0];
+        // 命中按 1/16 抽样计数
+        for (int i = 0; i < 320; i++) {
+            cached.index(hot);
+        }
+        // 一次性扫描（短于计数减半的周期）不应挤掉频率更高的热点
+        for (int i = 1; i < 500; i++) {
+            cached.index(keys[i]);
+        }
+        cached.resetStats();
+        cached.index(hot);
+        assertEquals(1, cached.hitCount());
+        assertThrows(IllegalArgumentException.class, () -> new CachedSuccinctTrie(cached, 0));
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.of(Arrays.copyOf(queries, COUNT / 2));
+        CachedSuccinctTrie cached = new CachedSuccinctTrie(trie, 64);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < COUNT * 5; i++) {
+                    String query = queries[random.nextInt(256)];
+                    assertEquals(query, trie.index(query), cached.index(query));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+    }
+}
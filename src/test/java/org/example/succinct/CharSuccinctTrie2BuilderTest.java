@@ -0,0 +1,62 @@
+package org.example.succinct;
+
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+public class CharSuccinctTrie2BuilderTest {
+    static final int COUNT = 20000;
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void randomTest() throws IOException {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        Arrays.sort(keys);
+        assertSameLayout(keys);
+    }
+
+    @Test
+    public void chainTest() throws IOException {
+        // 长公共前缀、互为前缀、重复键及空串
+        String[] keys = { "", "a", "abcdefg", "abcdefg", "abcdefgh", "abcdxyz", "b", "bcd", "bcdefghijk", "z" };
+        assertSameLayout(keys);
+    }
+
+    @Test
+    public void readerTest() throws IOException {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 1, 8, 0.5f);
+        Arrays.sort(keys);
+        Path expected = folder.newFile().toPath(), actual = folder.newFile().toPath();
+        CharSuccinctTrie2.sortedOf(keys).save(expected);
+        CharSuccinctTrie2.sortedOf(new StringReader(String.join("\n", keys))).save(actual);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedTest() {
+        CharSuccinctTrie2.sortedOf(List.of("abc", "ab").iterator());
+    }
+
+    private void assertSameLayout(String[] keys) throws IOException {
+        Path expected = folder.newFile().toPath(), actual = folder.newFile().toPath();
+        CharSuccinctTrie2.sortedOf(keys).save(expected);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(Arrays.asList(keys).iterator());
+        trie.save(actual);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+        for (String key : keys) {
+            assertEquals(key, trie.get(trie.index(key)));
+        }
+    }
+}
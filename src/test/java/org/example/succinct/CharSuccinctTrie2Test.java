@@ -0,0 +1,230 @@
+package org.example.succinct;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.common.CompactRadixTree;
+import org.example.succinct.common.PackedLabelSequence;
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+public class CharSuccinctTrie2Test {
+    static final int COUNT = 20000;
+
+    @Test
+    public void ordinalTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[i], i, trie.ordinal(sorted[i]));
+            assertEquals(sorted[i], trie.keyAt(i));
+        }
+        for (String query : queries) {
+            assertEquals(Arrays.binarySearch(sorted, query) >= 0, trie.ordinal(query) >= 0);
+        }
+        assertNull(trie.keyAt(-1));
+        assertNull(trie.keyAt(sorted.length));
+    }
+
+    @Test
+    public void chainOrdinalTest() {
+        String[] sorted = { "", "a", "abcdefg", "abcdefgh", "abcdxyz", "b", "bcd", "bcdefghijk", "z" };
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[i], i, trie.ordinal(sorted[i]));
+            assertEquals(sorted[i], trie.keyAt(i));
+        }
+        assertEquals(-1, trie.ordinal("abcd"));
+        assertEquals(-1, trie.ordinal("bc"));
+    }
+
+    @Test
+    public void fuzzySearchTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 6, 0.0f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        for (int i = 0; i < 200; i++) {
+            String query = queries[COUNT - 1 - i];
+            int maxEdits = i % 3;
+            List<CharSuccinctTrie2.Match> expected = new ArrayList<>();
+            for (String key : sorted) {
+                int distance = levenshtein(query, key);
+                if (distance <= maxEdits) {
+                    expected.add(new CharSuccinctTrie2.Match(key, distance));
+                }
+            }
+            assertEquals(query, expected, trie.fuzzySearch(query, maxEdits));
+        }
+        // 压缩链中间的键
+        CharSuccinctTrie2 chain = CharSuccinctTrie2.sortedOf(new String[]{ "", "abcdefg", "abcdefgh", "abcdxyz" });
+        assertEquals(List.of(new CharSuccinctTrie2.Match("abcdefg", 1), new CharSuccinctTrie2.Match("abcdefgh", 2)),
+                chain.fuzzySearch("abcdef", 2));
+        assertEquals(List.of(new CharSuccinctTrie2.Match("", 1)), chain.fuzzySearch("a", 1));
+    }
+
+    @Test
+    public void longestPrefixMatchTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        SuccinctTrie reference = new CompactRadixTree(sorted);
+        for (String query : queries) {
+            String text = "#" + query + query;
+            int expected = -1;
+            for (int end = 1; end <= text.length(); end++) {
+                if (Arrays.binarySearch(sorted, text.substring(1, end)) >= 0) {
+                    expected = end - 1;
+                }
+            }
+            assertEquals(text, expected, trie.longestPrefixMatch(text, 1));
+            assertEquals(text, expected, reference.longestPrefixMatch(text, 1));
+        }
+        CharSuccinctTrie2 chain = CharSuccinctTrie2.sortedOf(new String[]{ "abc", "abcdefg" });
+        assertEquals(3, chain.longestPrefixMatch("abcdef", 0));
+        assertEquals(7, chain.longestPrefixMatch("xabcdefgh", 1));
+        assertEquals(-1, chain.longestPrefixMatch("ab", 0));
+    }
+
+    @Test
+    public void rootTableTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        for (int depth = 0; depth <= 2; depth++) {
+            CharSuccinctTrie2 table = trie.withRootTable(depth);
+            assertEquals(depth > 0, table.rootTableBytes() > 0);
+            for (int i = 0; i < COUNT; i++) {
+                String query = queries[i];
+                assertEquals(query, trie.index(query), table.index(query));
+                if (i < 1000 && query.length() >= 3) {
+                    String prefix = query.substring(0, 3);
+                    assertEquals(prefix, toList(trie.prefixSearch(prefix)), toList(table.prefixSearch(prefix)));
+                }
+            }
+        }
+        // 根节点与第一层都是压缩节点，查找表的状态位于压缩链中间
+        String[] keys = { "abcdef", "abcdxy", "ab", "abz" };
+        CharSuccinctTrie2 chain = CharSuccinctTrie2.of(keys.clone());
+        for (int depth = 1; depth <= 2; depth++) {
+            CharSuccinctTrie2 table = chain.withRootTable(depth);
+            for (String key : keys) {
+                assertEquals(key, chain.index(key), table.index(key));
+                assertTrue(table.contains(key));
+            }
+            for (String missing : new String[]{ "a", "abc", "abcdx", "b", "ac", "abcdefg" }) {
+                assertFalse(missing, table.contains(missing));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> trie.withRootTable(3));
+    }
+
+    @Test
+    public void packedLabelsTest() {
+        // 块内全同、跨越数据字边界与满 16 位的位宽
+        char[] chars = new char[1000];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = i < 64 ? 'x' : i < 500 ? (char) ('a' + i % 26) : (char) (i * 7919);
+        }
+        PackedLabelSequence packed = new PackedLabelSequence(chars);
+        for (int i = 0; i < chars.length; i++) {
+            assertEquals(chars[i], packed.get(i));
+        }
+
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.0f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(sorted);
+        CharSuccinctTrie2 compact = trie.withPackedLabels().withRootTable(1);
+        assertTrue(compact.labelBytes() < trie.labelBytes());
+        for (int i = 0; i < COUNT; i++) {
+            String query = queries[i];
+            int index = trie.index(query);
+            assertEquals(query, index, compact.index(query));
+            if (index >= 0) {
+                assertEquals(query, compact.get(index));
+            }
+        }
+        assertEquals(toList(trie.iterator(true)), toList(compact.iterator(true)));
+        assertEquals(toList(trie.prefixSearch("a")), toList(compact.prefixSearch("a")));
+    }
+
+    @Test
+    public void intersectTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.2f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        List<SuccinctTrie> tries = List.of(CharSuccinctTrie2.sortedOf(sorted),
+                ByteSuccinctTrie2.of(sorted, StandardCharsets.UTF_8), new CompactRadixTree(sorted));
+        List<Automaton> automata = List.of(regex("a.*b"), regex("[a-m]+z?"), regex("..."), regex("(ab|c).*"),
+                Automata.makeString(sorted[sorted.length / 2]), regex(""),
+                Operations.determinize(WildcardQuery.toAutomaton(new Term("f", "*a?c*"), Operations.DEFAULT_DETERMINIZE_WORK_LIMIT),
+                        Operations.DEFAULT_DETERMINIZE_WORK_LIMIT));
+        for (Automaton automaton : automata) {
+            for (SuccinctTrie trie : tries) {
+                assertEquals(filter(trie.iterator(true), automaton), toList(trie.intersect(automaton)));
+            }
+            assertEquals(filter(Arrays.asList(sorted).iterator(), automaton), toList(tries.get(0).intersect(automaton)));
+        }
+        // 代理对作为一个码点匹配，且位于压缩链中
+        String[] keys = { "", "a\uD83D\uDE00b", "a\uD83D\uDE00bc", "ab" };
+        for (SuccinctTrie trie : List.of(CharSuccinctTrie2.of(keys.clone()), ByteSuccinctTrie2.of(keys.clone(), StandardCharsets.UTF_8))) {
+            assertEquals(List.of("a\uD83D\uDE00b"), toList(trie.intersect(regex("a.b"))));
+            assertEquals(List.of(""), toList(trie.intersect(regex("()"))));
+            assertEquals(filter(trie.iterator(true), regex("a.*")), toList(trie.intersect(regex("a.*"))));
+        }
+    }
+
+    private static Automaton regex(String regex) {
+        return Operations.determinize(new RegExp(regex).toAutomaton(), Operations.DEFAULT_DETERMINIZE_WORK_LIMIT);
+    }
+
+    private static List<String> filter(Iterator<String> keys, Automaton automaton) {
+        CharacterRunAutomaton runAutomaton = new CharacterRunAutomaton(automaton);
+        List<String> result = new ArrayList<>();
+        keys.forEachRemaining(key -> {
+            if (runAutomaton.run(key)) {
+                result.add(key);
+            }
+        });
+        return result;
+    }
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] prev = new int[b.length() + 1], row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(prev[j] + 1, row[j - 1] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev;
+            prev = row;
+            row = t;
+        }
+        return prev[b.length()];
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.succinct;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.core.NestedSuccinctTrie;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+public class ConcurrentLookupTest {
+    static final int COUNT = 20000;
+    static final int THREADS = 64;
+    static final int ROUNDS = 20000;
+    String[] queries;
+    Set<String> unique;
+
+    @Before
+    public void setUp() {
+        queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        unique = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2));
+    }
+
+    @Test
+    public void charSuccinctTrie2Test() throws Exception {
+        stressTest(CharSuccinctTrie2::of);
+    }
+
+    @Test
+    public void nestedSuccinctTrieTest() throws Exception {
+        stressTest(NestedSuccinctTrie::of);
+    }
+
+    @Test
+    public void byteSuccinctTrie2Test() throws Exception {
+        stressTest(ByteSuccinctTrie2::of);
+    }
+
+    private void stressTest(Function<String[], SuccinctTrie> constructor) throws Exception {
+        SuccinctTrie trie = constructor.apply(unique.toArray(new String[0]));
+        // 单线程下计算期望结果
+        int[] expected = new int[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            expected[i] = trie.index(queries[i]);
+            assertEquals(unique.contains(queries[i]), expected[i] >= 0);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int r = 0; r < ROUNDS; r++) {
+                        int i = random.nextInt(queries.length);
+                        int index = trie.index(queries[i]);
+                        assertEquals(queries[i], expected[i], index);
+                        assertEquals(expected[i] >= 0, trie.contains(queries[i]));
+                        if (index >= 0) {
+                            assertEquals(queries[i], trie.get(index));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
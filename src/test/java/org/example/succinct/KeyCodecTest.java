@@ -0,0 +1,125 @@
+package org.example.succinct;
+
+import org.example.succinct.api.KeyCodec;
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.utils.AlphabetCodec;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class KeyCodecTest {
+    static final int COUNT = 20000;
+    static final Charset[] CHARSETS = { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, Charset.forName("GB18030") };
+
+    @Test
+    public void encodeTest() {
+        String[] keys = keys();
+        for (Charset charset : CHARSETS) {
+            KeyCodec codec = KeyCodec.of(charset);
+            byte[] out = new byte[codec.maxBytes(32) + 3];
+            char[] chars = new char[out.length];
+            for (String key : keys) {
+                // 与 JDK 编码器（REPLACE）逐字节一致
+                byte[] expected = key.getBytes(charset);
+                int length = codec.encode(key, out, 3);
+                assertArrayEquals(charset + ": " + key, expected, Arrays.copyOfRange(out, 3, 3 + length));
+                String decoded = new String(expected, charset);
+                assertEquals(decoded, codec.decode(out, 3, length));
+                int n = codec.decode(out, 3, length, chars, 1);
+                assertEquals(decoded, new String(chars, 1, n));
+            }
+        }
+    }
+
+    @Test
+    public void malformedTest() {
+        // 非法字节不抛异常，且解码出的字符数不超过字节数
+        Random random = new Random(42);
+        byte[] bytes = new byte[16];
+        char[] chars = new char[16];
+        for (int i = 0; i < COUNT; i++) {
+            random.nextBytes(bytes);
+            int length = random.nextInt(bytes.length + 1);
+            for (Charset charset : CHARSETS) {
+                assertTrue(KeyCodec.of(charset).decode(bytes, 0, length, chars, 0) <= length);
+            }
+        }
+    }
+
+    @Test
+    public void trieTest() {
+        String[] keys = keys();
+        for (Charset charset : CHARSETS) {
+            ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(keys.clone(), charset);
+            for (String key : keys) {
+                // 无法编码的字符被替换后，键以替换后的形式存放
+                String stored = new String(key.getBytes(charset), charset);
+                assertEquals(stored, trie.get(trie.index(key)));
+            }
+        }
+    }
+
+    @Test
+    public void alphabetTest() {
+        String[] keys = keys();
+        String[] sorted = new TreeSet<>(Arrays.asList(keys)).toArray(new String[0]);
+        for (boolean ordered : new boolean[]{ false, true }) {
+            AlphabetCodec codec = AlphabetCodec.of(keys, ordered);
+            assertTrue(codec.toString(), codec.singleCount() > 0);
+            byte[] previous = null;
+            for (String key : sorted) {
+                byte[] bytes = codec.encode(key);
+                assertTrue(bytes.length <= codec.maxBytes(key.length()));
+                assertEquals(key, codec.decode(bytes, 0, bytes.length));
+                if (ordered && previous != null) {
+                    // 有符号字节序与字典序一致
+                    assertTrue(key, Arrays.compare(previous, bytes) < 0);
+                }
+                previous = bytes;
+            }
+            ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(keys.clone(), codec);
+            for (String key : keys) {
+                assertEquals(key, trie.get(trie.index(key)));
+            }
+            if (ordered) {
+                List<String> all = new ArrayList<>();
+                trie.iterator(true).forEachRemaining(all::add);
+                assertEquals(Arrays.asList(sorted), all);
+            }
+            // 字母表之外的字符
+            assertFalse(trie.contains(sorted[sorted.length - 1] + "\u0001"));
+            assertEquals("\uFFFD", codec.decode(codec.encode("\u0001"), 0, 1));
+        }
+        // 频率最高的字符占单字节码
+        AlphabetCodec codec = AlphabetCodec.of(new String[]{ "的的的的", "一", "是" }, false);
+        assertEquals(1, codec.encode("的").length);
+        // 构建的键含有字母表之外的字符时拒绝，而不是与其他键合并为同一个替换后的键
+        assertThrows(IllegalArgumentException.class, () -> ByteSuccinctTrie2.of(new String[]{ "的\u0001", "的\u0002" }, codec));
+        assertFalse(ByteSuccinctTrie2.of(new String[]{ "的", "一是" }, codec).contains("的\u0001"));
+        assertThrows(IllegalArgumentException.class, () -> new AlphabetCodec(new char[]{ 'a' }, new char[]{ 3 }));
+    }
+
+    private static String[] keys() {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 12, 0.5f);
+        Random random = new Random(7);
+        for (int i = 0; i < COUNT; i += 10) {
+            // 代理对、孤立代理字符、Latin-1 字符及其混合
+            char[] chars = keys[i].toCharArray();
+            if (chars.length > 1) {
+                chars[random.nextInt(chars.length)] = (char) (0xD800 + random.nextInt(0x800));
+                chars[random.nextInt(chars.length)] = (char) (0x80 + random.nextInt(0x80));
+            }
+            keys[i] = new String(chars) + "😀";
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.succinct;
+
+import org.example.succinct.utils.LabelSearch;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LabelSearchTest {
+
+    @Test
+    public void indexOfTest() {
+        Random random = new Random(42);
+        for (int fanOut : new int[]{ 0, 1, 3, 7, 8, 15, 16, 31, 33, 100, 257, 4096 }) {
+            // 前后留出其它节点的标签，区间起点不与向量宽度对齐
+            int offset = random.nextInt(40);
+            char[] labels = new char[offset + fanOut + 40];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = (char) random.nextInt(0x10000);
+            }
+            char[] node = new char[fanOut];
+            for (int size = 0; size < fanOut; ) {
+                char c = (char) random.nextInt(0x10000);
+                if (Arrays.binarySearch(node, 0, size, c) < 0) {
+                    node[size++] = c;
+                    Arrays.sort(node, 0, size);
+                }
+            }
+            System.arraycopy(node, 0, labels, offset, fanOut);
+            for (int i = 0; i < fanOut; i++) {
+                assertEquals(offset + i, LabelSearch.indexOf(labels, offset, offset + fanOut, node[i]));
+            }
+            for (int i = 0; i < 1000; i++) {
+                char c = (char) random.nextInt(0x10000);
+                int expected = Arrays.binarySearch(node, c);
+                assertEquals(expected < 0 ? -1 : offset + expected, LabelSearch.indexOf(labels, offset, offset + fanOut, c));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.succinct;
+
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBuildTest {
+    static final int COUNT = 50000;
+    static final ForkJoinPool POOL = new ForkJoinPool(4);
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void charTrieTest() throws IOException {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        Arrays.sort(keys);
+        assertSameLayout(keys);
+        // 长公共前缀、互为前缀、重复键及空串
+        assertSameLayout(new String[]{ "", "a", "abcdefg", "abcdefg", "abcdefgh", "abcdxyz", "b", "bcd", "bcdefghijk", "z" });
+        // 根节点为单分支压缩链
+        String[] chained = Arrays.stream(keys).map(key -> "prefix" + key).toArray(String[]::new);
+        assertSameLayout(chained);
+    }
+
+    @Test
+    public void byteTrieTest() throws IOException {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        Path expected = folder.newFile().toPath(), actual = folder.newFile().toPath();
+        ByteSuccinctTrie2.of(keys, StandardCharsets.UTF_8).save(expected);
+        ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(keys, StandardCharsets.UTF_8, POOL);
+        trie.save(actual);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+        for (String key : keys) {
+            assertTrue(trie.contains(key));
+        }
+    }
+
+    private void assertSameLayout(String[] keys) throws IOException {
+        Path expected = folder.newFile().toPath(), actual = folder.newFile().toPath();
+        CharSuccinctTrie2.sortedOf(keys).save(expected);
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.sortedOf(keys, POOL);
+        trie.save(actual);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+        for (String key : keys) {
+            assertEquals(key, trie.get(trie.index(key)));
+        }
+    }
+}
@@ -4,9 +4,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.example.succinct.api.RankSelectBitSet;
+import org.example.succinct.archive.RankSelectBitSet3;
 import org.example.succinct.common.*;
+import org.example.succinct.core.SimpleSuccinctTrie;
 import org.junit.Test;
 
+import java.util.Random;
+
 public class RankSelectTest {
     @Test
     public void simpleTest() {
@@ -43,4 +47,122 @@ public class RankSelectTest {
             assertEquals(select0[i], bitSet.select0(i + 1));
         }
     }
+
+    @Test
+    public void mappedTest() {
+        Random random = new Random(42);
+        for (int size : new int[] { 1, 255, 256, 257, 5000, 100000 }) {
+            for (double density : new double[] { 0.01, 0.5, 0.99 }) {
+                RankSelectBitSet.Builder builder = new RankSelectBitSet4.Builder(size);
+                for (int i = 0; i < size; i++) {
+                    builder.set(i, random.nextDouble() < density);
+                }
+                // 保证最后一位被写入，使两者 size 一致
+                builder.set(size - 1, true);
+                RankSelectBitSet expected = builder.build(true);
+                RankSelectBitSet actual = MappedRankSelectBitSet.of(MappedRankSelectBitSet.words(expected), size);
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected.oneCount(), actual.oneCount());
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected.get(i), actual.get(i));
+                    assertEquals(expected.rank1(i), actual.rank1(i));
+                    assertEquals(expected.rank0(i), actual.rank0(i));
+                    assertEquals(expected.nextSetBit(i), actual.nextSetBit(i));
+                }
+                for (int k = 1; k <= expected.oneCount(); k++) {
+                    assertEquals(expected.select1(k), actual.select1(k));
+                }
+                for (int k = 1; k <= size - expected.oneCount(); k++) {
+                    assertEquals(expected.select0(k), actual.select0(k));
+                }
+                assertEquals(-1, actual.select1(expected.oneCount() + 1));
+                assertEquals(-1, actual.select0(size - expected.oneCount() + 1));
+            }
+        }
+    }
+
+    @Test
+    public void appendTest() {
+        Random random = new Random(7);
+        RankSelectBitSet.Builder expected = new RankSelectBitSet4.Builder();
+        RankSelectBitSet.Builder actual = new RankSelectBitSet4.Builder();
+        for (int pos = 0; pos < 100000; ) {
+            int zeros = random.nextInt(200);
+            pos += zeros;
+            expected.set(pos++, true);
+            actual.appendZeros(zeros);
+            if (random.nextBoolean()) {
+                actual.appendOne();
+            } else {
+                actual.append(true);
+            }
+        }
+        RankSelectBitSet a = expected.build(true), b = actual.build(true);
+        assertEquals(a.size(), b.size());
+        assertEquals(a.oneCount(), b.oneCount());
+        for (int k = 1; k <= a.oneCount(); k++) {
+            assertEquals(a.select1(k), b.select1(k));
+        }
+    }
+
+    @Test
+    public void select0Test() {
+        Random random = new Random(3);
+        for (int size : new int[] { 1, 63, 64, 65, 5000, 100000 }) {
+            for (double density : new double[] { 0.01, 0.5, 0.99 }) {
+                RankSelectBitSet.Builder builder = new RankSelectBitSet4.Builder();
+                RankSelectBitSet.Builder archived = new RankSelectBitSet3.Builder();
+                SimpleSuccinctTrie.BitVector.Builder simple = new SimpleSuccinctTrie.BitVector.Builder();
+                for (int i = 0; i < size; i++) {
+                    boolean bit = random.nextDouble() < density;
+                    builder.append(bit);
+                    archived.append(bit);
+                    simple.append(bit);
+                }
+                RankSelectBitSet expected = builder.build(true), actual = archived.build(true);
+                SimpleSuccinctTrie.BitVector vector = simple.build(true);
+                int zeros = size - expected.oneCount();
+                for (int k = 1; k <= zeros; k++) {
+                    assertEquals(expected.select0(k), actual.select0(k));
+                    assertEquals(expected.select0(k), vector.select0(k));
+                }
+                assertEquals(-1, actual.select0(zeros + 1));
+                assertEquals(-1, vector.select0(zeros + 1));
+                assertEquals(-1, vector.select0(0));
+            }
+        }
+    }
+
+    @Test
+    public void bitSet5Test() {
+        Random random = new Random(5);
+        for (int size : new int[] { 1, 255, 256, 257, 5000, 100000 }) {
+            for (double density : new double[] { 0.01, 0.5, 0.99 }) {
+                RankSelectBitSet.Builder builder = new RankSelectBitSet4.Builder();
+                RankSelectBitSet.Builder builder5 = new RankSelectBitSet5.Builder();
+                for (int i = 0; i < size; i++) {
+                    boolean bit = random.nextDouble() < density;
+                    builder.append(bit);
+                    builder5.append(bit);
+                }
+                RankSelectBitSet expected = builder.build(true), actual = builder5.build(true);
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected.oneCount(), actual.oneCount());
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected.get(i), actual.get(i));
+                    assertEquals(expected.rank1(i), actual.rank1(i));
+                    assertEquals(expected.rank0(i), actual.rank0(i));
+                    assertEquals(expected.nextSetBit(i), actual.nextSetBit(i));
+                }
+                for (int k = 1; k <= expected.oneCount(); k++) {
+                    assertEquals(expected.select1(k), actual.select1(k));
+                }
+                for (int k = 1; k <= size - expected.oneCount(); k++) {
+                    assertEquals(expected.select0(k), actual.select0(k));
+                }
+                assertEquals(-1, actual.select1(expected.oneCount() + 1));
+                assertEquals(-1, actual.select0(size - expected.oneCount() + 1));
+            }
+        }
+    }
 }
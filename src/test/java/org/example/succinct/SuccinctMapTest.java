@@ -0,0 +1,72 @@
+package org.example.succinct;
+
+import org.example.succinct.core.SuccinctMap;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SuccinctMapTest {
+    static final int COUNT = 20000;
+    String[] keys;
+    String[] queries;
+    long[] values;
+    Map<String, Long> expected;
+
+    @Before
+    public void setUp() {
+        queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        keys = new String[COUNT / 2];
+        values = new long[keys.length];
+        expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = queries[i];
+            values[i] = random.nextInt(1 << 20);
+            expected.put(keys[i], values[i]);
+        }
+    }
+
+    @Test
+    public void packedTest() {
+        assertMap(SuccinctMap.of(keys, values));
+        assertMap(new SuccinctMap.Builder().charset(StandardCharsets.UTF_8).bitsPerValue(24).build(keys, values));
+    }
+
+    @Test
+    public void eliasFanoTest() {
+        // 值与叶子序号同序时才能使用 Elias-Fano
+        SuccinctMap map = SuccinctMap.of(keys, values);
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = map.trie().index(keys[i]);
+            expected.put(keys[i], values[i]);
+        }
+        assertMap(new SuccinctMap.Builder().encoding(SuccinctMap.Encoding.ELIAS_FANO).build(keys, values));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notEnoughBitsTest() {
+        new SuccinctMap.Builder().bitsPerValue(4).build(new String[]{"a"}, new long[]{16});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notMonotoneTest() {
+        new SuccinctMap.Builder().encoding(SuccinctMap.Encoding.ELIAS_FANO)
+                .build(new String[]{"a", "b"}, new long[]{2, 1});
+    }
+
+    private void assertMap(SuccinctMap map) {
+        assertEquals(expected.size(), map.size());
+        for (String query : queries) {
+            Long value = expected.get(query);
+            assertEquals(query, value == null ? -1L : value, map.getLong(query));
+            assertEquals(value == null ? 7L : value, map.getLong(query, 7L));
+        }
+    }
+}
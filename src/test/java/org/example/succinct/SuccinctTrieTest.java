@@ -9,6 +9,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -107,4 +108,47 @@ public class SuccinctTrieTest {
             assertEquals(s, prefixes.next());
         }
     }
+
+    @Test
+    public void indexAllTest() {
+        String[] sorted = unordered.clone();
+        Arrays.sort(sorted);
+        SuccinctTrie trie2 = CharSuccinctTrie2.of(unique.toArray(new String[0]));
+        for (SuccinctTrie t : List.of(trie, trie2)) {
+            // 有序与无序的查询结果都应与逐个 index 一致
+            for (String[] queries : List.of(sorted, unordered)) {
+                int[] indexes = t.indexAll(queries);
+                boolean[] contains = t.containsAll(queries);
+                for (int i = 0; i < queries.length; i++) {
+                    assertEquals(queries[i], t.index(queries[i]), indexes[i]);
+                    assertEquals(unique.contains(queries[i]), contains[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void prefixSearchVisitorTest() {
+        String[] keys = unique.toArray(new String[0]);
+        List<SuccinctTrie> tries = List.of(trie, CharSuccinctTrie2.of(keys.clone()),
+                ByteSuccinctTrie2.of(keys.clone()), NestedSuccinctTrie.of(keys.clone()));
+        for (SuccinctTrie t : tries) {
+            for (int i = 0; i < 200; i++) {
+                String key = unordered[i];
+                String prefix = key.substring(0, Math.min(key.length(), i % 3));
+                List<String> expected = new ArrayList<>();
+                t.prefixSearch(prefix).forEachRemaining(expected::add);
+                List<String> actual = new ArrayList<>();
+                int count = t.prefixSearch(prefix, (chars, length) -> actual.add(new String(chars, 0, length)));
+                assertEquals(t + " " + prefix, expected, actual);
+                assertEquals(expected.size(), count);
+                // 提前终止
+                int[] visited = {0};
+                count = t.prefixSearch(prefix, (chars, length) -> ++visited[0] < 3);
+                assertEquals(Math.min(3, expected.size()), count);
+                assertEquals(count, visited[0]);
+            }
+            assertEquals(0, t.prefixSearch("\uFFFF\uFFFF", (chars, length) -> true));
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package org.example.succinct;
+
+import org.example.succinct.core.SuffixSuccinctTrie;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+public class SuffixSuccinctTrieTest {
+    static final int COUNT = 20000;
+
+    @Test
+    public void suffixSearchTest() {
+        String[] queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        String[] sorted = new TreeSet<>(Arrays.asList(queries).subList(0, COUNT / 2)).toArray(new String[0]);
+        SuffixSuccinctTrie trie = SuffixSuccinctTrie.of(sorted.clone());
+        for (int i = 0; i < 500; i++) {
+            String query = queries[COUNT - 1 - i];
+            String suffix = query.substring(query.length() / 2);
+            TreeSet<String> expected = new TreeSet<>();
+            for (String key : sorted) {
+                if (key.endsWith(suffix)) {
+                    expected.add(key);
+                }
+            }
+            List<String> actual = new ArrayList<>();
+            trie.suffixSearch(suffix).forEachRemaining(actual::add);
+            assertEquals(suffix, expected, new TreeSet<>(actual));
+            assertEquals(suffix, expected.size(), actual.size());
+            assertEquals(expected.size(), trie.suffixCount(suffix));
+
+            List<String> visited = new ArrayList<>();
+            assertEquals(actual.size(), trie.suffixSearch(suffix, (chars, length) -> visited.add(new String(chars, 0, length))));
+            assertEquals(actual, visited);
+            // 序号映射回正向 Trie，且与迭代顺序一致
+            List<String> mapped = new ArrayList<>();
+            trie.suffixOrdinals(suffix).forEach(ordinal -> mapped.add(trie.forward().keyAt(ordinal)));
+            assertEquals(actual, mapped);
+        }
+    }
+
+    @Test
+    public void chainTest() {
+        SuffixSuccinctTrie trie = SuffixSuccinctTrie.of("", "example.com", "mail.example.com", "example.org", "a.com");
+        assertEquals(List.of("a.com", "example.com", "mail.example.com"),
+                trie.suffixOrdinals(".com").mapToObj(ordinal -> trie.forward().keyAt(ordinal)).sorted().toList());
+        assertEquals(2, trie.suffixCount("example.com"));
+        assertEquals(5, trie.suffixCount(""));
+        assertEquals(0, trie.suffixCount("net"));
+        assertFalse(trie.suffixSearch("net").hasNext());
+        assertEquals(0, trie.suffixOrdinals("x.com").count());
+        int count = trie.suffixSearch("com", (chars, length) -> false);
+        assertEquals(1, count);
+        assertTrue(trie.contains("a.com"));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.succinct;
+
+import org.example.succinct.api.SuccinctTrie;
+import org.example.succinct.core.ByteSuccinctTrie2;
+import org.example.succinct.core.CharSuccinctTrie2;
+import org.example.succinct.utils.AlphabetCodec;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TrieFormatTest {
+    static final int COUNT = 20000;
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    String[] unordered;
+    Set<String> unique;
+
+    @Before
+    public void setUp() {
+        unordered = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        unique = new TreeSet<>(Arrays.asList(unordered).subList(0, COUNT / 2));
+    }
+
+    @Test
+    public void charSuccinctTrie2Test() throws IOException {
+        CharSuccinctTrie2 trie = CharSuccinctTrie2.of(unique.toArray(new String[0]));
+        Path path = folder.newFile().toPath();
+        trie.save(path);
+        CharSuccinctTrie2 mapped = CharSuccinctTrie2.open(path);
+        assertSame(trie, mapped);
+        assertIteratorEquals(trie.iterator(true), mapped.iterator(true));
+    }
+
+    @Test
+    public void byteSuccinctTrie2Test() throws IOException {
+        ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(unique.toArray(new String[0]));
+        Path path = folder.newFile().toPath();
+        trie.save(path);
+        ByteSuccinctTrie2 mapped = ByteSuccinctTrie2.open(path);
+        assertSame(trie, mapped);
+        assertIteratorEquals(trie.iterator(true), mapped.iterator(true));
+    }
+
+    @Test
+    public void alphabetCodecTest() throws IOException {
+        String[] keys = unique.toArray(new String[0]);
+        ByteSuccinctTrie2 trie = ByteSuccinctTrie2.of(keys, AlphabetCodec.of(keys, true));
+        Path path = folder.newFile().toPath();
+        trie.save(path);
+        ByteSuccinctTrie2 mapped = ByteSuccinctTrie2.open(path);
+        assertSame(trie, mapped);
+        assertIteratorEquals(unique.iterator(), mapped.iterator(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badMagicTest() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[64]);
+        CharSuccinctTrie2.open(path);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongTypeTest() throws IOException {
+        Path path = folder.newFile().toPath();
+        CharSuccinctTrie2.of("a", "b").save(path);
+        ByteSuccinctTrie2.open(path);
+    }
+
+    private void assertSame(SuccinctTrie expected, SuccinctTrie actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        for (String key : unordered) {
+            int index = expected.index(key);
+            assertEquals(key, index, actual.index(key));
+            if (index >= 0) {
+                assertEquals(key, actual.get(index));
+            }
+        }
+        String prefix = unordered[0].isEmpty() ? "" : unordered[0].substring(0, 1);
+        assertIteratorEquals(expected.prefixSearch(prefix), actual.prefixSearch(prefix));
+        assertIteratorEquals(expected.prefixKeysOf(unordered[1]), actual.prefixKeysOf(unordered[1]));
+    }
+
+    private void assertIteratorEquals(Iterator<String> expected, Iterator<String> actual) {
+        while (expected.hasNext()) {
+            assertTrue(actual.hasNext());
+            assertEquals(expected.next(), actual.next());
+        }
+        assertFalse(actual.hasNext());
+    }
+}
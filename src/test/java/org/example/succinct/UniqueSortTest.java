@@ -0,0 +1,59 @@
+package org.example.succinct;
+
+import org.example.succinct.utils.StringGenerateUtil;
+import org.example.succinct.utils.UniqueSort;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+public class UniqueSortTest {
+    static final int COUNT = 200000;
+
+    @Test
+    public void charTest() {
+        // 短键、长公共前缀及大量重复
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 6, 0.5f);
+        Random random = new Random(1);
+        for (int i = 0; i < COUNT; i += 3) {
+            keys[i] = i % 2 == 0 ? "commonprefix" + keys[i] : keys[random.nextInt(COUNT)];
+        }
+        String[] expected = new TreeSet<>(Arrays.asList(keys)).toArray(new String[0]);
+        for (ForkJoinPool pool : new ForkJoinPool[]{ null, ForkJoinPool.commonPool() }) {
+            String[] actual = keys.clone();
+            int n = UniqueSort.sort(actual, pool);
+            assertArrayEquals(expected, Arrays.copyOf(actual, n));
+            // 数组仍是输入的一个排列
+            String[] all = actual.clone(), input = keys.clone();
+            Arrays.sort(all);
+            Arrays.sort(input);
+            assertArrayEquals(input, all);
+        }
+        assertEquals(0, UniqueSort.sort(new String[0]));
+        assertArrayEquals(new String[]{ "", "a", "ab" }, UniqueSort.unique(new String[]{ "ab", "", "a", "ab", "" }));
+    }
+
+    @Test
+    public void byteTest() {
+        String[] keys = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        byte[][] bytes = Arrays.stream(keys).map(key -> key.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+        // 有符号字节序，与 ByteSuccinctTrie2 一致
+        Comparator<byte[]> signed = Arrays::compare;
+        TreeSet<byte[]> set = new TreeSet<>(signed);
+        set.addAll(Arrays.asList(bytes));
+        byte[][] expected = set.toArray(new byte[0][]);
+        for (ForkJoinPool pool : new ForkJoinPool[]{ null, ForkJoinPool.commonPool() }) {
+            byte[][] actual = UniqueSort.unique(bytes.clone(), pool);
+            assertEquals(expected.length, actual.length);
+            for (int i = 0; i < actual.length; i++) {
+                assertArrayEquals(expected[i], actual[i]);
+            }
+        }
+    }
+}
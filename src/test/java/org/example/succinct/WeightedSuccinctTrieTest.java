@@ -0,0 +1,89 @@
+package org.example.succinct;
+
+import org.example.succinct.core.WeightedSuccinctTrie;
+import org.example.succinct.utils.StringGenerateUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+public class WeightedSuccinctTrieTest {
+    static final int COUNT = 20000;
+    String[] queries;
+    Map<String, Long> expected;
+
+    @Before
+    public void setUp() {
+        queries = StringGenerateUtil.randomArray(COUNT, 0, 8, 0.5f);
+        expected = new HashMap<>();
+    }
+
+    @Test
+    public void topKTest() {
+        // 权重互不相同时结果唯一
+        Random random = new Random(42);
+        List<Long> distinct = new ArrayList<>();
+        for (long i = 0; i < COUNT; i++) {
+            distinct.add(i * 7);
+        }
+        Collections.shuffle(distinct, random);
+        WeightedSuccinctTrie trie = build(i -> distinct.get(i));
+        for (int i = 0; i < 500; i++) {
+            String prefix = prefixOf(queries[random.nextInt(COUNT)], i % 4);
+            int k = 1 + random.nextInt(20);
+            assertEquals(prefix, bruteForce(prefix, k), trie.topK(prefix, k));
+        }
+        assertTrue(trie.topK("￿￿", 10).isEmpty());
+        assertTrue(trie.topK("", 0).isEmpty());
+    }
+
+    @Test
+    public void tiedWeightsTest() {
+        Random random = new Random(7);
+        WeightedSuccinctTrie trie = build(i -> (long) random.nextInt(5));
+        for (int i = 0; i < 500; i++) {
+            String prefix = prefixOf(queries[random.nextInt(COUNT)], i % 3);
+            int k = 1 + random.nextInt(50);
+            List<Long> actual = trie.topK(prefix, k).stream().map(expected::get).collect(Collectors.toList());
+            List<Long> weights = bruteForce(prefix, k).stream().map(expected::get).collect(Collectors.toList());
+            assertEquals(prefix, weights, actual);
+        }
+    }
+
+    private WeightedSuccinctTrie build(IntFunction<Long> weight) {
+        String[] keys = new String[COUNT / 2];
+        long[] weights = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = queries[i];
+            weights[i] = weight.apply(i);
+            expected.put(keys[i], weights[i]);
+        }
+        WeightedSuccinctTrie trie = WeightedSuccinctTrie.of(keys, weights);
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().longValue(), trie.weight(entry.getKey()));
+        }
+        return trie;
+    }
+
+    private List<String> bruteForce(String prefix, int k) {
+        return expected.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .sorted(Comparator.comparing((String key) -> expected.get(key)).reversed())
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    private static String prefixOf(String key, int length) {
+        return key.substring(0, Math.min(key.length(), length));
+    }
+}